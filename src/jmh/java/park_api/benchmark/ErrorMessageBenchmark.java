@@ -0,0 +1,112 @@
+package park_api.benchmark;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import park_api.exception.EntityNotFoundException;
+import park_api.web.exception.ApiExceptionHandler;
+import park_api.web.exception.ClientErrorLog;
+import park_api.web.exception.ErrorMessage;
+import park_api.web.metrics.ApiMetrics;
+
+/**
+ * The 404 path as a scraper sees it: an exception thrown {@code depth} frames below the handler,
+ * logged, and turned into an {@link ErrorMessage}. Log output goes through a real encoder into a
+ * discarding stream, so formatting cost is measured but the console is not.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ErrorMessageBenchmark {
+
+    @Param({ "20", "150" })
+    private int depth;
+
+    private ApiExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private Logger stackTraceLog;
+
+    @Setup
+    public void setUp() {
+        stackTraceLog = discardingLogger("benchmark.StackTraceErrorLog");
+        discardingLogger(ClientErrorLog.class.getName());
+        handler = new ApiExceptionHandler(new ApiMetrics(new SimpleMeterRegistry()), new ClientErrorLog(10));
+        request = new MockHttpServletRequest("GET", "/api/v1/users/1000");
+    }
+
+    @Benchmark
+    public ErrorMessage errorMessage() {
+        return new ErrorMessage(request, HttpStatus.NOT_FOUND, "Usuário id=1000 não encontrado");
+    }
+
+    // What every 404 cost before: a stack-capturing exception logged at ERROR with its full trace.
+    @Benchmark
+    public ResponseEntity<ErrorMessage> notFoundWithStackTrace() {
+        try {
+            return throwAt(depth, () -> new IllegalStateException(String.format("Usuário id=%s não encontrado", 1000)));
+        } catch (IllegalStateException ex) {
+            stackTraceLog.error("Api Error - ", ex);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorMessage(request, HttpStatus.NOT_FOUND, ex.getMessage()));
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorMessage> notFoundStackless() {
+        try {
+            return throwAt(depth, () -> new EntityNotFoundException(String.format("Usuário id=%s não encontrado", 1000)));
+        } catch (EntityNotFoundException ex) {
+            return handler.entityNotFoundException(ex, request);
+        }
+    }
+
+    private static <T> T throwAt(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        return throwAt(depth - 1, exception);
+    }
+
+    private static Logger discardingLogger(String name) {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %-5level [%thread] %logger : %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        Logger logger = context.getLogger(name);
+        logger.detachAndStopAllAppenders();
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+        return logger;
+    }
+}
@@ -0,0 +1,54 @@
+package park_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import park_api.config.PasswordConfig;
+
+/**
+ * Cost of one hash/verification at each BCrypt strength. Latency is the average time per operation;
+ * throughput per core is its inverse, so a pool of N hashing threads sustains about N times the
+ * thrpt score of this single-threaded run.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordHashingBenchmark {
+
+    @Param({ "4", "8", "10", "12" })
+    private int strength;
+
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new PasswordConfig().passwordEncoder(strength);
+        encodedPassword = passwordEncoder.encode("123456");
+    }
+
+    @Benchmark
+    public String hash() {
+        return passwordEncoder.encode("123456");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("123456", encodedPassword);
+    }
+}
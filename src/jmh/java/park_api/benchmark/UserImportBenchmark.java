@@ -0,0 +1,86 @@
+package park_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import park_api.entity.User;
+import park_api.service.UserService;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserImportBenchmark {
+
+    static final int USERS_PER_OP = 500;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "spring.jpa.properties.hibernate.order_inserts=true",
+                "park-api.password.bcrypt-strength=4");
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS_PER_OP)
+    public List<User> createAll() {
+        List<User> rejected = new ArrayList<>();
+        List<User> batch = new ArrayList<>(50);
+        for (User user : newUsers()) {
+            batch.add(user);
+            if (batch.size() == 50) {
+                rejected.addAll(userService.createAll(batch));
+                batch = new ArrayList<>(50);
+            }
+        }
+        return rejected;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(USERS_PER_OP)
+    public User createOneByOne() {
+        User last = null;
+        for (User user : newUsers()) {
+            last = userService.create(user);
+        }
+        return last;
+    }
+
+    private List<User> newUsers() {
+        List<User> users = new ArrayList<>(USERS_PER_OP);
+        for (int i = 0; i < USERS_PER_OP; i++) {
+            User user = new User();
+            user.setUsername("user" + sequence.incrementAndGet() + "@email.com");
+            user.setPassword("123456");
+            users.add(user);
+        }
+        return users;
+    }
+}
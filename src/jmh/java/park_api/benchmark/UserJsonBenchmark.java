@@ -0,0 +1,89 @@
+package park_api.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import park_api.web.dto.UserResponseDto;
+
+/**
+ * Compares the reflective bean serializer (the default before {@code UserResponseDtoSerializer})
+ * with the hand-written one, in JSON and in CBOR. Setup prints the raw and gzip sizes of each page.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserJsonBenchmark {
+
+    @Param({ "1", "100", "10000" })
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper reflectiveObjectMapper;
+    private ObjectMapper cborObjectMapper;
+    private List<UserResponseDto> users;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        reflectiveObjectMapper = Jackson2ObjectMapperBuilder.json()
+                .mixIn(UserResponseDto.class, ReflectiveSerialization.class)
+                .build();
+        cborObjectMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        users = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            users.add(new UserResponseDto(id, "user" + id + "@email.com", "CUSTOMER"));
+        }
+        byte[] json = serializeList();
+        byte[] cbor = serializeListCbor();
+        System.out.printf("%n%d users: json %d B (gzip %d B), cbor %d B (gzip %d B)%n",
+                size, json.length, gzip(json), cbor.length, gzip(cbor));
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] serializeListReflective() throws IOException {
+        return reflectiveObjectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] serializeListCbor() throws IOException {
+        return cborObjectMapper.writeValueAsBytes(users);
+    }
+
+    private static int gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private abstract static class ReflectiveSerialization {
+    }
+}
@@ -0,0 +1,58 @@
+package park_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import park_api.entity.User;
+import park_api.repository.projection.UserSummary;
+import park_api.web.dto.UserResponseDto;
+import park_api.web.dto.mapper.UserMapper;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserMapperBenchmark {
+
+    private User user;
+    private List<User> entities;
+    private List<UserSummary> users;
+
+    @Setup
+    public void setUp() {
+        entities = new ArrayList<>();
+        for (long id = 1; id <= 10_000; id++) {
+            User u = new User();
+            u.setId(id);
+            u.setUsername("user" + id + "@email.com");
+            u.setPassword("123456");
+            u.setRole(id % 10 == 0 ? User.Role.ROLE_ADMIN : User.Role.ROLE_CUSTOMER);
+            entities.add(u);
+        }
+        user = entities.get(0);
+        users = entities.stream()
+                .map(u -> new UserSummary(u.getId(), u.getUsername(), u.getRole(), u.getCreatedAt(), u.getModifiedAt()))
+                .toList();
+    }
+
+    @Benchmark
+    public UserResponseDto toDto() {
+        return UserMapper.toDto(user);
+    }
+
+    @Benchmark
+    public List<UserResponseDto> toListDto() {
+        return UserMapper.toListDto(users);
+    }
+}
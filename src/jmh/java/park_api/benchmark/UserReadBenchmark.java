@@ -0,0 +1,96 @@
+package park_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import park_api.entity.User;
+import park_api.repository.UserRepository;
+import park_api.repository.projection.UserSummary;
+
+/**
+ * Managed entities versus {@link UserSummary} projections for the detail and list reads, each in
+ * its own read-only transaction and without the cache. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserReadBenchmark {
+
+    static final int USERS = 10_000;
+    static final int PAGE_SIZE = 100;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userRepository = context.getBean(UserRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Object[]> rows = new ArrayList<>(USERS);
+        String password = "{bcrypt}$2a$10$" + "x".repeat(53);
+        for (long id = 1; id <= USERS; id++) {
+            rows.add(new Object[] { id, "user" + id + "@email.com", password, "ROLE_CUSTOMER" });
+        }
+        context.getBean(JdbcTemplate.class)
+                .batchUpdate("INSERT INTO users (id, username, password, role) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User detailEntity() {
+        long id = ThreadLocalRandom.current().nextLong(1, USERS + 1);
+        return readOnly.execute(status -> userRepository.findById(id).orElseThrow());
+    }
+
+    @Benchmark
+    public UserSummary detailProjection() {
+        long id = ThreadLocalRandom.current().nextLong(1, USERS + 1);
+        return readOnly.execute(status -> userRepository.findSummaryById(id).orElseThrow());
+    }
+
+    @Benchmark
+    public List<User> pageEntity() {
+        long after = ThreadLocalRandom.current().nextLong(0, USERS - PAGE_SIZE);
+        return readOnly.execute(status -> entityManager
+                .createQuery("select u from User u where u.id > :after order by u.id", User.class)
+                .setParameter("after", after)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<UserSummary> pageProjection() {
+        long after = ThreadLocalRandom.current().nextLong(0, USERS - PAGE_SIZE);
+        return readOnly.execute(status -> userRepository.findSummariesAfter(after, Limit.of(PAGE_SIZE)));
+    }
+}
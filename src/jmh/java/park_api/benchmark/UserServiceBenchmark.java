@@ -0,0 +1,63 @@
+package park_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import park_api.repository.projection.UserSummary;
+import park_api.service.UserService;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserServiceBenchmark {
+
+    static final int USERS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userService = context.getBean(UserService.class);
+
+        List<Object[]> rows = new ArrayList<>(USERS);
+        for (long id = 1; id <= USERS; id++) {
+            rows.add(new Object[] { id, "user" + id + "@email.com", "123456", "ROLE_CUSTOMER" });
+        }
+        context.getBean(JdbcTemplate.class)
+                .batchUpdate("INSERT INTO users (id, username, password, role) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserSummary getById() {
+        return userService.getById(ThreadLocalRandom.current().nextLong(1, USERS + 1));
+    }
+
+    @Benchmark
+    public List<UserSummary> getPage() {
+        return userService.getPage(ThreadLocalRandom.current().nextLong(0, USERS - 100), 100);
+    }
+
+}
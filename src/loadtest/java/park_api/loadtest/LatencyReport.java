@@ -0,0 +1,113 @@
+package park_api.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Response times per operation, in microseconds, measured from the moment each request was due to
+ * start, so time spent waiting behind a slow server counts (no coordinated omission).
+ */
+final class LatencyReport {
+
+    private static final String HEADER = "%-16s %9s %8s %8s %10s %10s %10s %10s %10s%n";
+    private static final String ROW = "%-16s %9d %8d %8.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n";
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private long elapsedNanos;
+
+    LatencyReport(Iterable<Operation> operations) {
+        for (Operation operation : operations) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    void record(Operation operation, long latencyNanos, int status) {
+        Stats operationStats = stats.get(operation);
+        operationStats.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (status >= 400 || status < 0) {
+            operationStats.errors.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+    }
+
+    // Not sent because max-in-flight requests were already waiting: the server is far behind the rate.
+    void skipped(Operation operation) {
+        stats.get(operation).skipped.increment();
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    void print(PrintStream out, LoadTestOptions options) {
+        out.println(options);
+        out.printf(HEADER, "operation", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Histogram latencies = entry.getValue().latencies.copy();
+            long errors = entry.getValue().errorCount();
+            row(out, entry.getKey().label(), latencies, errors);
+            total.add(latencies);
+            totalErrors += errors;
+        }
+        row(out, "total", total, totalErrors);
+        stats.forEach((operation, operationStats) -> {
+            if (operationStats.errorCount() > 0 || operationStats.skipped.sum() > 0) {
+                Map<Integer, Long> byStatus = new TreeMap<>();
+                operationStats.errors.forEach((status, count) -> byStatus.put(status, count.sum()));
+                out.printf("%s errors by status (-1 = I/O failure): %s, skipped: %d%n",
+                        operation.label(), byStatus, operationStats.skipped.sum());
+            }
+        });
+    }
+
+    /**
+     * Writes the table to {@code <label>.txt} and one percentile distribution per operation to
+     * {@code <label>-<operation>.hgrm}, which HdrHistogram's plotter can overlay across runs.
+     */
+    void write(Path directory, LoadTestOptions options) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(options.label() + ".txt")))) {
+            print(out, options);
+        }
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Path file = directory.resolve(options.label() + "-" + entry.getKey().label() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().latencies.copy().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private void row(PrintStream out, String name, Histogram latencies, long errors) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf(ROW, name, latencies.getTotalCount(), errors, seconds > 0 ? latencies.getTotalCount() / seconds : 0,
+                millis(latencies, 50), millis(latencies, 90), millis(latencies, 99), millis(latencies, 99.9),
+                latencies.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class Stats {
+
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+        private final Map<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+        private final LongAdder skipped = new LongAdder();
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package park_api.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model traffic: requests arrive as a Poisson process at {@code rate} per second whether or
+ * not earlier ones have completed, like independent clients would, instead of a fixed set of
+ * threads that each wait for their previous response and so slow down along with the server.
+ */
+final class LoadDriver {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI api;
+    private final LoadTestOptions options;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    LoadDriver(URI api, LoadTestOptions options) {
+        this.api = api;
+        this.options = options;
+        this.operations = options.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += options.mix().get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    LatencyReport run(Duration duration) throws InterruptedException {
+        LatencyReport report = new LatencyReport(List.of(operations));
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        double meanIntervalNanos = 1e9 / options.rate();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long due = start;
+        while (true) {
+            due += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+            if (due - end >= 0) {
+                break;
+            }
+            parkUntil(due);
+            Operation operation = next(random);
+            if (!inFlight.tryAcquire()) {
+                report.skipped(operation);
+                continue;
+            }
+            long dueAt = due;
+            HttpRequest request = operation.request(api, options.users());
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                report.record(operation, System.nanoTime() - dueAt, failure == null ? response.statusCode() : -1);
+                inFlight.release();
+            });
+        }
+        if (!inFlight.tryAcquire(options.maxInFlight(), 1, TimeUnit.MINUTES)) {
+            System.err.println("Requests still in flight after one minute, the report leaves them out");
+        }
+        report.finish(System.nanoTime() - start);
+        return report;
+    }
+
+    private Operation next(ThreadLocalRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static void parkUntil(long due) {
+        long remaining;
+        while ((remaining = due - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package park_api.loadtest;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import park_api.ParkApiApplication;
+
+/**
+ * Boots the API on a random port against the embedded H2 of the test configuration, seeds users and
+ * drives the configured traffic mix over HTTP. Run with
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="rate=200 duration=60s label=$(git rev-parse --short HEAD)"
+ * </pre>
+ * Options (key=value): rate (requests/s), warmup, duration, users, mix (e.g.
+ * {@code getById:60,getAll:20,create:10,updatePassword:10}), max-in-flight, label, out. The report is
+ * printed and written to {@code target/loadtest}; compare runs by label. The warmup is measured too
+ * but discarded. Admission control stays off, as in the test configuration, so the app is measured
+ * rather than the rate limiter.
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> HARNESS_PROPERTIES = Map.of(
+            "server.port", "0",
+            "spring.main.banner-mode", "off",
+            "spring.jpa.show-sql", "false",
+            "logging.level.root", "warn",
+            "park-api.admission.enabled", "false",
+            // devtools would relaunch main in a restart class loader with only the application arguments
+            "spring.devtools.restart.enabled", "false",
+            "spring.autoconfigure.exclude", "org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (ConfigurableApplicationContext context = start(options)) {
+            seed(context.getBean(JdbcTemplate.class), options.users());
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + port + "/api/v1/"), options);
+
+            System.out.println("Warming up for " + options.warmup().toSeconds() + "s");
+            driver.run(options.warmup());
+            System.out.println("Measuring for " + options.duration().toSeconds() + "s");
+            LatencyReport report = driver.run(options.duration());
+
+            report.print(System.out, options);
+            report.write(options.out(), options);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(LoadTestOptions options) {
+        // System properties, so they win over the test application.properties (show-sql would flood stdout)
+        HARNESS_PROPERTIES.forEach(System::setProperty);
+        return new SpringApplicationBuilder(ParkApiApplication.class)
+                .run(options.applicationArgs().toArray(String[]::new));
+    }
+
+    // Ids 1..users; the sequence is moved past them so users created during the run do not collide.
+    private static void seed(JdbcTemplate jdbcTemplate, int users) {
+        List<Object[]> rows = new ArrayList<>(users);
+        for (long id = 1; id <= users; id++) {
+            rows.add(new Object[] { id, "user" + id + "@email.com", "123456", "ROLE_CUSTOMER" });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, password, role) VALUES (?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ALTER SEQUENCE users_seq RESTART WITH " + (users + 51));
+    }
+}
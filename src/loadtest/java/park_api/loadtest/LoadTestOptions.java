@@ -0,0 +1,87 @@
+package park_api.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Arguments of a run, as {@code key=value}; anything starting with {@code --} is passed to the
+ * application, e.g. {@code --park-api.password.bcrypt-strength=4}.
+ */
+record LoadTestOptions(
+        double rate,
+        Duration warmup,
+        Duration duration,
+        int users,
+        Map<Operation, Integer> mix,
+        int maxInFlight,
+        String label,
+        Path out,
+        List<String> applicationArgs) {
+
+    static LoadTestOptions parse(String... args) {
+        double rate = 100;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        int users = 10_000;
+        Map<Operation, Integer> mix = parseMix("getById:60,getAll:20,create:10,updatePassword:10");
+        int maxInFlight = 1_000;
+        String label = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path out = Path.of("target", "loadtest");
+        List<String> applicationArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                applicationArgs.add(arg);
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            String value = arg.substring(equals + 1);
+            switch (arg.substring(0, equals)) {
+                case "rate" -> rate = Double.parseDouble(value);
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "users" -> users = Integer.parseInt(value);
+                case "mix" -> mix = parseMix(value);
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "label" -> label = value;
+                case "out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        return new LoadTestOptions(rate, warmup, duration, users, mix, maxInFlight, label, out, applicationArgs);
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                mix.put(Operation.named(parts[0]), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight: " + value);
+        }
+        return mix;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder mixText = new StringBuilder();
+        mix.forEach((operation, weight) -> mixText.append(mixText.isEmpty() ? "" : ",").append(operation.label()).append(':').append(weight));
+        return "label=" + label + " rate=" + rate + "/s warmup=" + warmup.toSeconds() + "s duration=" + duration.toSeconds()
+                + "s users=" + users + " mix=" + mixText + (applicationArgs.isEmpty() ? "" : " " + String.join(" ", applicationArgs));
+    }
+}
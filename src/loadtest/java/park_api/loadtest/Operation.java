@@ -0,0 +1,76 @@
+package park_api.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Requests of the traffic mix. Seeded users have ids 1..users and the password {@code 123456}. */
+enum Operation {
+
+    CREATE("create") {
+        @Override
+        HttpRequest request(URI api, int seededUsers) {
+            String username = "load" + RUN + "-" + CREATED.incrementAndGet() + "@email.com";
+            return json(api.resolve("users")).POST(body("{\"username\":\"" + username + "\",\"password\":\"123456\"}")).build();
+        }
+    },
+    GET_BY_ID("getById") {
+        @Override
+        HttpRequest request(URI api, int seededUsers) {
+            return HttpRequest.newBuilder(api.resolve("users/" + randomId(seededUsers))).GET().build();
+        }
+    },
+    GET_ALL("getAll") {
+        @Override
+        HttpRequest request(URI api, int seededUsers) {
+            long after = ThreadLocalRandom.current().nextLong(0, Math.max(1, seededUsers - 100));
+            return HttpRequest.newBuilder(api.resolve("users?after=" + after + "&limit=100")).GET().build();
+        }
+    },
+    // The new password equals the current one so any seeded user can be picked again; 409s are concurrent updates.
+    UPDATE_PASSWORD("updatePassword") {
+        @Override
+        HttpRequest request(URI api, int seededUsers) {
+            return json(api.resolve("users/" + randomId(seededUsers)))
+                    .method("PATCH", body("{\"currentPassword\":\"123456\",\"newPassword\":\"123456\",\"confirmPassword\":\"123456\"}"))
+                    .build();
+        }
+    };
+
+    private static final long RUN = System.currentTimeMillis();
+    private static final AtomicLong CREATED = new AtomicLong();
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    abstract HttpRequest request(URI api, int seededUsers);
+
+    String label() {
+        return label;
+    }
+
+    static Operation named(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equals(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + label);
+    }
+
+    private static long randomId(int seededUsers) {
+        return ThreadLocalRandom.current().nextLong(1, seededUsers + 1);
+    }
+
+    private static HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri).header("Content-Type", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher body(String json) {
+        return HttpRequest.BodyPublishers.ofString(json);
+    }
+}
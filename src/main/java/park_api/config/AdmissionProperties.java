@@ -0,0 +1,69 @@
+package park_api.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("park-api.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /** Header that identifies the client (e.g. X-Forwarded-For behind a proxy); the remote address when unset. */
+    private String clientHeader;
+
+    /**
+     * Proxies in front of the application that append to {@code client-header}. The client is the
+     * entry this many places from the right; the entries to its left come from the client itself.
+     */
+    private int trustedProxies = 1;
+
+    /** Clients tracked at once; the least recently seen are forgotten first. */
+    private long maxClients = 100_000;
+
+    /** "METHOD /path/pattern" entries that use the expensive tier; everything else is cheap. */
+    private List<String> expensiveEndpoints = new ArrayList<>(List.of(
+            "GET /api/v1/users",
+            "GET /api/v1/users/stream",
+            "GET /api/v1/users/export",
+            "POST /api/v1/users",
+            "POST /api/v1/users/bulk"));
+
+    private Tier cheap = new Tier(50, 100, 150, Duration.ofMillis(50));
+
+    private Tier expensive = new Tier(10, 20, 32, Duration.ofMillis(100));
+
+    @Getter
+    @Setter
+    public static class Tier {
+
+        /** Sustained requests per second allowed per client. */
+        private double rate;
+
+        /** Requests a client may send back to back above the sustained rate. */
+        private int burst;
+
+        /** Requests of this tier executing at once across all clients. */
+        private int maxConcurrent;
+
+        /** How long a request may wait for a slot before it is shed with 503. */
+        private Duration maxQueueDelay;
+
+        public Tier() {
+        }
+
+        Tier(double rate, int burst, int maxConcurrent, Duration maxQueueDelay) {
+            this.rate = rate;
+            this.burst = burst;
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueueDelay = maxQueueDelay;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package park_api.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@EnableCaching
+@Configuration
+public class CacheConfig {
+
+    public static final String USERS_CACHE = "users";
+
+    /*
+     * Puts and evictions are deferred until the surrounding transaction commits, so a write
+     * evicts only once its change is visible. A small race remains: a getById that read the
+     * row just before that commit can put the old value back after the eviction, and the
+     * stale entry then lives until the next write to the user or the time-to-live. With replicas
+     * the race spans the replication lag, so UserService does not cache a user for the read-your-writes
+     * window after changing it, and a client pinned to the primary skips the cache (ReadYourWrites).
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${park-api.cache.users.maximum-size:10000}") long maximumSize,
+            @Value("${park-api.cache.users.time-to-live:10m}") Duration timeToLive) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USERS_CACHE, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
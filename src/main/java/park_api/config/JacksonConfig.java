@@ -0,0 +1,37 @@
+package park_api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import park_api.web.converter.SizedCborHttpMessageConverter;
+import park_api.web.converter.SizedJsonHttpMessageConverter;
+import park_api.web.metrics.ApiMetrics;
+
+@Configuration
+public class JacksonConfig {
+
+    /*
+     * Both replace the converters Spring MVC registers by default. The CBOR one (Accept: application/cbor)
+     * is built from Boot's builder so it honours spring.jackson.* like the JSON one does. Each
+     * records its writes in park.http.serialization, tagged with the format.
+     */
+    @Bean
+    public SizedJsonHttpMessageConverter jsonHttpMessageConverter(ObjectMapper objectMapper, ApiMetrics apiMetrics,
+            @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        return new SizedJsonHttpMessageConverter(objectMapper, (int) minResponseSize.toBytes(),
+                apiMetrics.serializationTimer("json"));
+    }
+
+    @Bean
+    public SizedCborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder,
+            ApiMetrics apiMetrics, @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        return new SizedCborHttpMessageConverter(builder.factory(new CBORFactory()).build(), (int) minResponseSize.toBytes(),
+                apiMetrics.serializationTimer("cbor"));
+    }
+}
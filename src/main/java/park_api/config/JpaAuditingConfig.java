@@ -0,0 +1,42 @@
+package park_api.config;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@Configuration
+@EnableJpaAuditing(auditorAwareRef = "auditorAware", dateTimeProviderRef = "auditingDateTimeProvider")
+public class JpaAuditingConfig {
+
+    public static final String ANONYMOUS_AUDITOR = "anonymousUser";
+    public static final String SYSTEM_AUDITOR = "system";
+
+    /*
+     * There is no authentication layer yet, so the auditor is the servlet remote user when the
+     * container provides one. Writes outside a request (imports, jobs) are attributed to "system".
+     */
+    @Bean
+    public AuditorAware<String> auditorAware() {
+        return () -> {
+            if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+                return Optional.of(SYSTEM_AUDITOR);
+            }
+            String remoteUser = attributes.getRequest().getRemoteUser();
+            return Optional.of(remoteUser != null ? remoteUser : ANONYMOUS_AUDITOR);
+        };
+    }
+
+    // Truncated to the column precision so a cached entity and a freshly loaded row carry the same value.
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+}
@@ -0,0 +1,27 @@
+package park_api.config;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import park_api.service.outbox.FileOutboxSink;
+import park_api.service.outbox.OutboxSink;
+
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    // Until a broker is wired in, user changes are appended to a local NDJSON file.
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(@Value("${park-api.outbox.file:outbox/user-events.ndjson}") Path file,
+            ObjectMapper objectMapper) {
+        return new FileOutboxSink(file, objectMapper);
+    }
+}
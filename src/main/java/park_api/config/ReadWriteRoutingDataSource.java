@@ -0,0 +1,44 @@
+package park_api.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary. Has to sit
+ * behind a {@code LazyConnectionDataSourceProxy}: the transaction manager asks for a connection
+ * before the transaction is marked read-only, and the lazy proxy defers that until the first statement.
+ * <p>
+ * A client's reads stay on the primary for {@code read-your-writes-window} after one of its own
+ * writes commits (see {@link ReadYourWrites}), so it does not read from a replica that has not
+ * caught up yet; other clients keep reading from the replicas.
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWrites readYourWrites;
+
+    ReadWriteRoutingDataSource(ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return readYourWrites.pinnedToPrimary() ? Target.PRIMARY : Target.REPLICA;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    readYourWrites.recordWrite();
+                }
+            });
+        }
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,147 @@
+package park_api.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Read-your-writes per client. When a write made in a request commits, the response carries the
+ * {@value #COOKIE} cookie with the time until which that client's reads go to the primary; the
+ * rest of the same request is pinned through a request attribute. Reads of other clients, and
+ * writes made outside a request (audit trail, outbox relay), do not move anyone off the replicas.
+ * Clients that drop cookies simply read from the replicas.
+ * <p>
+ * The cookie is signed with {@code read-your-writes-secret} and ignored if it names a time further
+ * away than the window, so a client cannot pin itself to the primary. Instances sharing a secret
+ * honour each other's cookies. Values read while a replica may still lag behind a change
+ * ({@link #mayBeStale}) must not be cached. Without replicas nothing is ever pinned.
+ */
+@Component
+public class ReadYourWrites {
+
+    public static final String COOKIE = "park-primary-until";
+
+    private static final String ATTRIBUTE = ReadYourWrites.class.getName() + ".primaryUntil";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final Duration window;
+    private final SecretKeySpec key;
+    private final Cache<Object, Boolean> changed;
+
+    public ReadYourWrites(ObjectProvider<ReplicaDataSourceProperties> replicaProperties) {
+        ReplicaDataSourceProperties properties = replicaProperties.getIfAvailable();
+        this.window = properties != null ? properties.getReadYourWritesWindow() : Duration.ZERO;
+        byte[] secret;
+        if (properties != null && properties.getReadYourWritesSecret() != null) {
+            secret = properties.getReadYourWritesSecret().getBytes(StandardCharsets.UTF_8);
+        } else {
+            secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.changed = Caffeine.newBuilder()
+                .expireAfterWrite(window.toNanos(), TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /** Whether the current request belongs to a client whose own write is still within the window. */
+    public boolean pinnedToPrimary() {
+        if (window.isZero() || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        long remaining = primaryUntil(attributes.getRequest()) - System.currentTimeMillis();
+        return remaining > 0 && remaining <= window.toMillis();
+    }
+
+    /** Notes that the value cached under {@code key} was just changed on the primary. */
+    public void recordChange(Object key) {
+        if (!window.isZero()) {
+            changed.put(key, Boolean.TRUE);
+        }
+    }
+
+    /** Whether a replica may still return the state {@code key} had before its last change. */
+    public boolean mayBeStale(Object key) {
+        return changed.getIfPresent(key) != null;
+    }
+
+    void recordWrite() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        long until = System.currentTimeMillis() + window.toMillis();
+        attributes.setAttribute(ATTRIBUTE, until, RequestAttributes.SCOPE_REQUEST);
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, until + "." + sign(until))
+                    .path("/")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .maxAge(window.plusSeconds(1).toSeconds())
+                    .build()
+                    .toString());
+        }
+    }
+
+    private long primaryUntil(HttpServletRequest request) {
+        if (request.getAttribute(ATTRIBUTE) instanceof Long until) {
+            return until;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    return verify(cookie.getValue());
+                }
+            }
+        }
+        return 0;
+    }
+
+    private long verify(String value) {
+        int dot = value.indexOf('.');
+        if (dot < 0) {
+            return 0;
+        }
+        try {
+            long until = Long.parseLong(value.substring(0, dot));
+            byte[] signature = value.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+            return MessageDigest.isEqual(signature, sign(until).getBytes(StandardCharsets.US_ASCII)) ? until : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private String sign(long until) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] signature = mac.doFinal(Long.toString(until).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package park_api.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("park-api.datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** After a client's write commits, that client's reads stay on the primary for this long so it sees its own writes. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(1);
+
+    /** Key signing the read-your-writes cookie; set the same on every instance. Random per instance when unset. */
+    private String readYourWritesSecret;
+
+    /** How long a replica that refused a connection is skipped before being tried again. */
+    private Duration replicaRetryInterval = Duration.ofSeconds(5);
+
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,73 @@
+package park_api.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out replica connections round-robin. A replica that fails to give a connection is skipped
+ * for {@code retryIntervalNanos}; when none is available the connection comes from the primary.
+ */
+@Slf4j
+public class ReplicaPool extends AbstractDataSource implements AutoCloseable {
+
+    private final List<HikariDataSource> replicas;
+    private final DataSource primary;
+    private final long retryIntervalNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLongArray downUntil;
+    private final Counter fallbackCounter;
+
+    ReplicaPool(List<HikariDataSource> replicas, DataSource primary, long retryIntervalNanos, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.primary = primary;
+        this.retryIntervalNanos = retryIntervalNanos;
+        this.downUntil = new AtomicLongArray(replicas.size());
+        this.fallbackCounter = Counter.builder("park.datasource.replica.fallback")
+                .description("Read-only connections served by the primary because no replica was available")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            if (System.nanoTime() - downUntil.get(index) < 0) {
+                continue;
+            }
+            try {
+                return replicas.get(index).getConnection();
+            } catch (SQLException | RuntimeException e) {
+                downUntil.set(index, System.nanoTime() + retryIntervalNanos);
+                log.warn("Replica {} unavailable, skipping it for {} ms: {}", index, retryIntervalNanos / 1_000_000, e.toString());
+            }
+        }
+        fallbackCounter.increment();
+        return primary.getConnection();
+    }
+
+    // Hikari pools are bound to their configured credentials and reject per-call ones the same way.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,14 @@
+package park_api.config;
+
+import java.util.List;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/** One connection pool per shard, indexed by shard number. */
+record ShardPools(List<HikariDataSource> pools) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
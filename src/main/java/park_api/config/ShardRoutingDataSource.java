@@ -0,0 +1,19 @@
+package park_api.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import park_api.service.UserShards;
+
+/**
+ * Hands out connections of the shard selected with {@link UserShards} on the current thread, or of
+ * shard 0 when none is (startup, health checks, the audit trail). Has to sit behind a
+ * {@code LazyConnectionDataSourceProxy} so the shard is looked up at the first statement, not when
+ * the transaction manager asks for a connection.
+ */
+class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return UserShards.currentShard();
+    }
+}
@@ -0,0 +1,81 @@
+package park_api.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.Assert;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import park_api.service.UserShards;
+
+/**
+ * Active when at least one shard is configured ({@code park-api.sharding.shards[0].url}); every
+ * shard then holds the full schema and {@link UserShards} decides where each user lives.
+ * {@code spring.datasource.*} is not used in that case, and read replicas cannot be combined with it.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("park-api.sharding.shards[0].url")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    ShardPools shardPools(ShardingProperties properties, MeterRegistry meterRegistry) {
+        Assert.state(properties.getShards().size() <= UserShards.MAX_SHARDS,
+                () -> "At most " + UserShards.MAX_SHARDS + " shards are supported");
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + pools.size());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            if (shard.getDriverClassName() != null) {
+                dataSource.setDriverClassName(shard.getDriverClassName());
+            }
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            dataSource.setMetricRegistry(meterRegistry);
+            pools.add(dataSource);
+        }
+        return new ShardPools(pools);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardPools shardPools) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shardPools.pools().size(); shard++) {
+            targets.put(shard, shardPools.pools().get(shard));
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shardPools.pools().get(0));
+        // Shard 0 serves work outside any shard only; a shard that is not configured must fail.
+        routing.setLenientFallback(false);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Boot migrates the application datasource only, which resolves to shard 0.
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardPools shardPools) {
+        return flyway -> shardPools.pools().forEach(pool -> Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(pool)
+                .load()
+                .migrate());
+    }
+}
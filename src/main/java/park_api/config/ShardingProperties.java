@@ -0,0 +1,45 @@
+package park_api.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties("park-api.sharding")
+public class ShardingProperties {
+
+    /** Shard databases, in shard order. Neither order nor count may change once users were written. */
+    private List<Shard> shards = new ArrayList<>();
+
+    /** Ids an instance reserves from a shard at a time; the unused rest of a block is lost on restart. */
+    private int idBlockSize = 100;
+
+    /** Threads querying the shards in parallel when a list is merged from all of them. */
+    private int scatterThreads = 8;
+
+    /** How long a merged list waits for the slowest shard. */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /**
+     * Ids below this were issued before sharding and are read from shard 0, where those users stay;
+     * set it past the largest id of the database that becomes shard 0. 0 when sharded from the start.
+     */
+    private long legacyIdLimit;
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
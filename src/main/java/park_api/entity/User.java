@@ -3,10 +3,18 @@ package park_api.entity;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
 import jakarta.persistence.*;
 import lombok.*;
+import park_api.entity.id.AssignableSequence;
 
 @Entity
+@EntityListeners(AuditingEntityListener.class)
 @Table(name = "users")
 @Getter
 @Setter
@@ -14,7 +22,7 @@ import lombok.*;
 public class User implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AssignableSequence(sequenceName = "users_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -28,18 +36,26 @@ public class User implements Serializable {
     @Column(name = "role", nullable = false, length = 25)
     private Role role = Role.ROLE_CUSTOMER;
 
-    @Column(name = "createdAt")
+    @CreatedDate
+    @Column(name = "createdAt", updatable = false)
     private LocalDateTime createdAt;
 
+    @LastModifiedDate
     @Column(name = "modifiedAt")
     private LocalDateTime modifiedAt;
 
-    @Column(name = "createdBy")
+    @CreatedBy
+    @Column(name = "createdBy", updatable = false)
     private String createdBy;
 
+    @LastModifiedBy
     @Column(name = "modifiedBy")
     private String modifiedBy;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public enum Role {
         ROLE_ADMIN,
         ROLE_CUSTOMER
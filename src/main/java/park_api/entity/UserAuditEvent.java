@@ -0,0 +1,68 @@
+package park_api.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "user_audit_events")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserAuditEvent implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_audit_events_seq")
+    @SequenceGenerator(name = "user_audit_events_seq", sequenceName = "user_audit_events_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "username", nullable = false, updatable = false, length = 100)
+    private String username;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, updatable = false, length = 25)
+    private Type type;
+
+    @Column(name = "actor", updatable = false, length = 100)
+    private String actor;
+
+    @Column(name = "occurred_at", nullable = false, updatable = false)
+    private LocalDateTime occurredAt;
+
+    public UserAuditEvent(Long userId, String username, Type type, String actor, LocalDateTime occurredAt) {
+        this.userId = userId;
+        this.username = username;
+        this.type = type;
+        this.actor = actor;
+        this.occurredAt = occurredAt;
+    }
+
+    public UserAuditEvent(User user, Type type) {
+        this.userId = user.getId();
+        this.username = user.getUsername();
+        this.type = type;
+        if (type == Type.CREATED) {
+            this.actor = user.getCreatedBy();
+            this.occurredAt = user.getCreatedAt();
+        } else {
+            this.actor = user.getModifiedBy();
+            this.occurredAt = user.getModifiedAt();
+        }
+    }
+
+    public enum Type {
+        CREATED,
+        PASSWORD_CHANGED
+    }
+
+    @Override
+    public String toString() {
+        return "UserAuditEvent [id=" + id + ", userId=" + userId + ", type=" + type + "]";
+    }
+}
@@ -0,0 +1,23 @@
+package park_api.entity.id;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Pooled sequence id, like {@code @GeneratedValue(strategy = SEQUENCE)}, except that an id already
+ * set on the entity is kept. Lets the sharded setup assign ids that encode the shard.
+ */
+@IdGeneratorType(AssignableSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface AssignableSequence {
+
+    String sequenceName();
+
+    int allocationSize() default 50;
+}
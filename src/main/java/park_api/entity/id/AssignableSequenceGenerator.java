@@ -0,0 +1,35 @@
+package park_api.entity.id;
+
+import java.util.Properties;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+public class AssignableSequenceGenerator extends SequenceStyleGenerator {
+
+    private final AssignableSequence sequence;
+
+    public AssignableSequenceGenerator(AssignableSequence sequence) {
+        this.sequence = sequence;
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        parameters.put(SEQUENCE_PARAM, sequence.sequenceName());
+        parameters.put(INCREMENT_PARAM, sequence.allocationSize());
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object entity) {
+        Object assigned = session.getEntityPersister(null, entity).getIdentifier(entity, session);
+        return assigned != null ? assigned : super.generate(session, entity);
+    }
+}
@@ -0,0 +1,8 @@
+package park_api.exception;
+
+public class ConcurrentUpdateException extends RuntimeException {
+
+    public ConcurrentUpdateException(String message) {
+        super(message, null, false, false);
+    }
+}
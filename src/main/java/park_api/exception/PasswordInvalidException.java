@@ -3,6 +3,6 @@ package park_api.exception;
 public class PasswordInvalidException extends RuntimeException {
     
   public PasswordInvalidException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
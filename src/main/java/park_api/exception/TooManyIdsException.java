@@ -0,0 +1,8 @@
+package park_api.exception;
+
+public class TooManyIdsException extends RuntimeException {
+
+    public TooManyIdsException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -3,6 +3,6 @@ package park_api.exception;
 public class UsernameUniqueViolationException extends RuntimeException {
 
     public UsernameUniqueViolationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,12 @@
+package park_api.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import park_api.entity.UserAuditEvent;
+
+public interface UserAuditEventRepository extends JpaRepository<UserAuditEvent, Long> {
+
+    List<UserAuditEvent> findByUserIdOrderByIdAsc(Long userId);
+}
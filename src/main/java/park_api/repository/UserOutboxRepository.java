@@ -0,0 +1,65 @@
+package park_api.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import lombok.RequiredArgsConstructor;
+import park_api.entity.UserAuditEvent;
+import park_api.repository.projection.OutboxMessage;
+
+/**
+ * Plain JDBC rather than an entity: the id is an identity column, which would make Hibernate insert
+ * rows one at a time, while the bulk import appends one message per user as a single batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserOutboxRepository {
+
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getLong("user_version"),
+            UserAuditEvent.Type.valueOf(rs.getString("type")),
+            rs.getString("payload"),
+            rs.getObject("created_at", LocalDateTime.class));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void append(List<OutboxMessage> messages) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "insert into user_outbox (user_id, user_version, type, payload, created_at) values (?, ?, ?, ?, ?)",
+                messages, messages.size(), (ps, message) -> {
+                    ps.setLong(1, message.userId());
+                    ps.setLong(2, message.userVersion());
+                    ps.setString(3, message.type().name());
+                    ps.setString(4, message.payload());
+                    ps.setObject(5, message.createdAt());
+                });
+    }
+
+    /**
+     * The oldest messages, locked until the calling transaction ends. A concurrent caller waits for
+     * that transaction instead of skipping the locked rows, so batches are never taken out of order.
+     */
+    public List<OutboxMessage> lockOldest(int limit) {
+        return jdbcTemplate.query(
+                "select id, user_id, user_version, type, payload, created_at from user_outbox order by id limit :limit for update",
+                Map.of("limit", limit), ROW_MAPPER);
+    }
+
+    public Optional<LocalDateTime> findOldestCreatedAt() {
+        return jdbcTemplate.queryForList("select created_at from user_outbox order by id limit 1", Map.of(),
+                LocalDateTime.class).stream().findFirst();
+    }
+
+    public int delete(Collection<Long> ids) {
+        return jdbcTemplate.update("delete from user_outbox where id in (:ids)", Map.of("ids", ids));
+    }
+}
@@ -1,9 +1,60 @@
 package park_api.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import jakarta.persistence.QueryHint;
 import park_api.entity.User;
+import park_api.repository.projection.UserCredentials;
+import park_api.repository.projection.UserSummary;
 
 public interface UserRepository extends JpaRepository<User, Long>{
 
+    String SUMMARY = "select new park_api.repository.projection.UserSummary(u.id, u.username, u.role, u.createdAt, u.modifiedAt) from User u";
+
+    @Query(SUMMARY + " where u.id = :id")
+    Optional<UserSummary> findSummaryById(Long id);
+
+    @Query(SUMMARY + " where u.id in :ids")
+    List<UserSummary> findSummariesByIdIn(Collection<Long> ids);
+
+    @Query(SUMMARY + " where u.id > :after order by u.id")
+    List<UserSummary> findSummariesAfter(Long after, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY + " order by u.id")
+    Stream<UserSummary> streamAllSummaries();
+
+    boolean existsByUsername(String username);
+
+    @Query("select new park_api.repository.projection.UserCredentials(u.id, u.username, u.password, u.version) from User u where u.id = :id")
+    Optional<UserCredentials> findCredentialsById(Long id);
+
+    /**
+     * Changes the password only if the row is still at {@code version}; returns 0 when another
+     * update got there first. Bypasses the persistence context, so auditing columns are passed in.
+     */
+    @Modifying
+    @Query("""
+            update User u set u.password = :password, u.version = u.version + 1,
+                u.modifiedAt = :modifiedAt, u.modifiedBy = :modifiedBy
+            where u.id = :id and u.version = :version""")
+    int updatePassword(Long id, Long version, String password, LocalDateTime modifiedAt, String modifiedBy);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    List<String> findExistingUsernames(Collection<String> usernames);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select u.username from User u")
+    Stream<String> streamAllUsernames();
 }
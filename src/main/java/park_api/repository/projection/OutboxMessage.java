@@ -0,0 +1,13 @@
+package park_api.repository.projection;
+
+import java.time.LocalDateTime;
+
+import park_api.entity.UserAuditEvent;
+
+/**
+ * A row of the user outbox. {@code id} is assigned by the database on insert, so a later change of
+ * the same user always has a higher id; {@code userVersion} lets consumers drop redeliveries.
+ */
+public record OutboxMessage(Long id, Long userId, Long userVersion, UserAuditEvent.Type type, String payload,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,8 @@
+package park_api.repository.projection;
+
+/**
+ * What a password change needs to read: the stored hash to verify against and the
+ * version the conditional update is made against.
+ */
+public record UserCredentials(Long id, String username, String password, Long version) {
+}
@@ -0,0 +1,19 @@
+package park_api.repository.projection;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import park_api.entity.User;
+
+/**
+ * Read-only view of a user with only what the API returns plus the timestamps used for
+ * HTTP validators. Built by a JPQL constructor expression, so the password column is never
+ * selected and nothing enters the persistence context.
+ */
+public record UserSummary(Long id, String username, User.Role role, LocalDateTime createdAt, LocalDateTime modifiedAt)
+        implements Serializable {
+
+    public LocalDateTime changedAt() {
+        return modifiedAt != null ? modifiedAt : createdAt;
+    }
+}
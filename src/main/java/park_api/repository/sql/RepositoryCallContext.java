@@ -0,0 +1,38 @@
+package park_api.repository.sql;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Remembers which repository method is running on the current thread, so statements can be
+ * attributed to it. Installed on every Spring Data repository proxy by {@code SqlStatisticsConfig}.
+ */
+public final class RepositoryCallContext implements MethodInterceptor {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final String repositoryName;
+
+    public RepositoryCallContext(Class<?> repositoryInterface) {
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    public static String current() {
+        String caller = CURRENT.get();
+        return caller != null ? caller : "?";
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String previous = CURRENT.get();
+        if (previous != null) {
+            return invocation.proceed();
+        }
+        CURRENT.set(repositoryName + "." + invocation.getMethod().getName());
+        try {
+            return invocation.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+}
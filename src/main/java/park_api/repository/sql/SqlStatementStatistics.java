@@ -0,0 +1,141 @@
+package park_api.repository.sql;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Times every JDBC execution on the application datasource and aggregates it per normalized
+ * statement (literals replaced by {@code ?}, {@code IN} lists collapsed). Statements slower than
+ * {@code park-api.sql.slow-query-threshold} are logged with their bind-parameter count and the
+ * repository method that issued them. The time measured is the execute call, not result set reads.
+ * <p>
+ * The p99 covers a rolling window of the last few minutes; count, total and max are since start or
+ * the last reset. Timers live in a private registry so statement text never becomes a metric tag.
+ */
+@Slf4j
+@Component
+public class SqlStatementStatistics implements QueryExecutionListener {
+
+    static final String OTHER = "<other>";
+
+    private static final String START_NANOS = "park-api.sql.start";
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+    private final AtomicLong timerIds = new AtomicLong();
+    private final Duration slowQueryThreshold;
+    private final int maxStatements;
+
+    public SqlStatementStatistics(
+            @Value("${park-api.sql.slow-query-threshold:100ms}") Duration slowQueryThreshold,
+            @Value("${park-api.sql.max-statements:500}") int maxStatements) {
+        this.slowQueryThreshold = slowQueryThreshold;
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        long nanos = start != null ? System.nanoTime() - start : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = normalize(queryInfo.getQuery());
+            int parameters = queryInfo.getParametersList().stream().mapToInt(List::size).sum();
+            statisticsFor(sql).record(nanos);
+            if (nanos >= slowQueryThreshold.toNanos()) {
+                log.warn("Slow query {} ms [caller={}, params={}, batch={}]: {}",
+                        TimeUnit.NANOSECONDS.toMillis(nanos), RepositoryCallContext.current(), parameters,
+                        execInfo.isBatch() ? execInfo.getBatchSize() : 0, sql);
+            }
+        }
+    }
+
+    public List<StatementSummary> top(int limit, Comparator<StatementSummary> order) {
+        return statistics.entrySet().stream()
+                .map(entry -> entry.getValue().summary(entry.getKey()))
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        statistics.values().forEach(stats -> registry.remove(stats.timer));
+        statistics.clear();
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private Statistics statisticsFor(String sql) {
+        Statistics stats = statistics.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        String key = statistics.size() < maxStatements ? sql : OTHER;
+        return statistics.computeIfAbsent(key, k -> new Statistics(Timer.builder("sql")
+                .tag("statement", Long.toString(timerIds.incrementAndGet()))
+                .publishPercentiles(0.99)
+                .percentilePrecision(2)
+                .register(registry)));
+    }
+
+    public record StatementSummary(String sql, long count, double totalMs, double maxMs, double p99Ms) {
+    }
+
+    private static final class Statistics {
+
+        private final Timer timer;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        Statistics(Timer timer) {
+            this.timer = timer;
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        StatementSummary summary(String sql) {
+            double p99 = 0;
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                p99 = percentile.value(TimeUnit.MILLISECONDS);
+            }
+            return new StatementSummary(sql, count.sum(), totalNanos.sum() / 1e6, maxNanos.get() / 1e6, p99);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package park_api.repository.sql;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import park_api.repository.sql.SqlStatementStatistics.StatementSummary;
+
+/**
+ * {@code GET /actuator/sqlstats?sort=total|count|max|p99&limit=20} lists the most expensive
+ * statement shapes; {@code DELETE /actuator/sqlstats} starts a new measurement window. Served on
+ * the management port, and the reset only with {@code management.endpoint.sqlstats.access=unrestricted}.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+public class SqlStatisticsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SqlStatementStatistics statistics;
+
+    @ReadOperation
+    public List<StatementSummary> top(@Nullable String sort, @Nullable Integer limit) {
+        return statistics.top(limit != null && limit > 0 ? limit : DEFAULT_LIMIT, order(sort));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+
+    private static Comparator<StatementSummary> order(String sort) {
+        if (sort == null) {
+            return Comparator.comparingDouble(StatementSummary::totalMs);
+        }
+        return switch (sort) {
+            case "count" -> Comparator.comparingLong(StatementSummary::count);
+            case "max" -> Comparator.comparingDouble(StatementSummary::maxMs);
+            case "p99" -> Comparator.comparingDouble(StatementSummary::p99Ms);
+            default -> Comparator.comparingDouble(StatementSummary::totalMs);
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package park_api.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+import park_api.entity.UserAuditEvent;
+
+/**
+ * Append-only overflow for audit events that could not go to the database in time: one JSON line
+ * per event, forced to disk before {@link #append} returns. Read back in full and deleted once the
+ * events are stored.
+ */
+@Slf4j
+class AuditSpillFile {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    AuditSpillFile(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    synchronized void append(Collection<UserAuditEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder(events.size() * 160);
+        for (UserAuditEvent event : events) {
+            lines.append(objectMapper.writeValueAsString(new Line(event.getUserId(), event.getUsername(), event.getType(),
+                    event.getActor(), event.getOccurredAt()))).append('\n');
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+                Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8)) {
+            writer.write(lines.toString());
+            writer.flush();
+            channel.force(false);
+        }
+    }
+
+    boolean isEmpty() {
+        return !Files.exists(file);
+    }
+
+    /**
+     * Hands every spilled event, oldest first, to {@code store} and deletes the file once it returns;
+     * appends wait meanwhile. If {@code store} throws, the file is kept for the next attempt.
+     */
+    synchronized int replay(Consumer<List<UserAuditEvent>> store) throws IOException {
+        if (isEmpty()) {
+            return 0;
+        }
+        List<UserAuditEvent> events = read();
+        if (!events.isEmpty()) {
+            store.accept(events);
+        }
+        Files.delete(file);
+        return events.size();
+    }
+
+    // A torn last line, left by a crash in the middle of an append, was never acknowledged and is skipped.
+    private List<UserAuditEvent> read() throws IOException {
+        List<UserAuditEvent> events = new ArrayList<>();
+        for (String text : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (text.isBlank()) {
+                continue;
+            }
+            Line line;
+            try {
+                line = objectMapper.readValue(text, Line.class);
+            } catch (IOException e) {
+                log.warn("Skipping unreadable audit spill line in {}: {}", file, text);
+                continue;
+            }
+            events.add(new UserAuditEvent(line.userId(), line.username(), line.type(), line.actor(), line.occurredAt()));
+        }
+        return events;
+    }
+
+    Path path() {
+        return file;
+    }
+
+    record Line(Long userId, String username, UserAuditEvent.Type type, String actor, LocalDateTime occurredAt) {
+    }
+}
@@ -0,0 +1,116 @@
+package park_api.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import park_api.exception.ServiceUnavailableException;
+
+/**
+ * Runs password hashing and verification on a fixed pool sized to the CPU instead of on request threads.
+ * The queue in front of the pool is bounded: when it is full, callers fail fast with
+ * {@link ServiceUnavailableException} rather than piling up behind work that cannot finish in time.
+ * {@link #hashAll} is the exception: it keeps at most one task per thread queued at a time and
+ * waits up to {@code timeout} for room, so an import neither fills the queue nor fails on a burst.
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+            @Value("${park-api.password.hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${park-api.password.hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${park-api.password.hashing.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-"));
+        // hashAll hands tasks to the queue directly, which only running workers take from.
+        this.executor.prestartAllCoreThreads();
+    }
+
+    public String hash(String rawPassword) {
+        return await(submit(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public List<String> hashAll(List<String> rawPasswords) {
+        int ahead = executor.getMaximumPoolSize();
+        List<Future<String>> hashes = new ArrayList<>(rawPasswords.size());
+        List<String> result = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            if (hashes.size() - result.size() == ahead) {
+                result.add(await(hashes.get(result.size())));
+            }
+            hashes.add(enqueue(() -> passwordEncoder.encode(rawPassword)));
+        }
+        while (result.size() < hashes.size()) {
+            result.add(await(hashes.get(result.size())));
+        }
+        return result;
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Serviço sobrecarregado, tente novamente em instantes");
+        }
+    }
+
+    private <T> Future<T> enqueue(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        try {
+            if (executor.isShutdown() || !executor.getQueue().offer(future, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ServiceUnavailableException("Serviço sobrecarregado, tente novamente em instantes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Requisição interrompida");
+        }
+        return future;
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Serviço sobrecarregado, tente novamente em instantes");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Requisição interrompida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package park_api.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import park_api.entity.User;
+import park_api.entity.UserAuditEvent;
+import park_api.repository.UserAuditEventRepository;
+
+/**
+ * Append-only audit log of user changes, written off the request path.
+ * <p>
+ * Events are queued only after the user's transaction commits, and a single writer thread inserts
+ * them in batches of up to {@code batch-size}, one transaction per batch (group commit).
+ * <p>
+ * An event whose user transaction committed is never discarded. When the queue is still full after
+ * {@code offer-timeout}, or a batch fails {@code max-attempts} times, the events go to an
+ * append-only {@code spill-file} (fsynced) and are stored from there once the writer is idle again,
+ * so their ids may be out of commit order; {@code occurred_at} is authoritative. If the spill file
+ * cannot be written either, callers block until the queue has room and the writer keeps retrying.
+ * A graceful shutdown drains the queue. A process crash loses every event still held in memory:
+ * up to {@code queue-capacity} queued events plus the batch of up to {@code batch-size} being
+ * written or retried. Events reach the spill file only once the queue is full or a batch gave up,
+ * so while the database is slow the whole queue is at risk, not just {@code flush-interval} worth.
+ */
+@Slf4j
+@Component
+public class UserAuditTrail implements SmartLifecycle {
+
+    private final UserAuditEventRepository auditEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditSpillFile spillFile;
+    private final BlockingQueue<UserAuditEvent> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+    private final int maxAttempts;
+    private final Counter writtenCounter;
+    private final Counter spilledCounter;
+    private final Timer flushTimer;
+    private volatile boolean running;
+    private Thread writer;
+
+    public UserAuditTrail(UserAuditEventRepository auditEventRepository, TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${park-api.audit.spill-file:audit/spill.ndjson}") String spillFile,
+            @Value("${park-api.audit.queue-capacity:10000}") int queueCapacity,
+            @Value("${park-api.audit.batch-size:500}") int batchSize,
+            @Value("${park-api.audit.flush-interval:200ms}") Duration flushInterval,
+            @Value("${park-api.audit.offer-timeout:50ms}") Duration offerTimeout,
+            @Value("${park-api.audit.shutdown-timeout:10s}") Duration shutdownTimeout,
+            @Value("${park-api.audit.max-attempts:3}") int maxAttempts) {
+        this.auditEventRepository = auditEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.spillFile = new AuditSpillFile(Path.of(spillFile), objectMapper);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.maxAttempts = maxAttempts;
+        this.writtenCounter = Counter.builder("park.audit.events.written")
+                .description("Audit events stored")
+                .register(meterRegistry);
+        this.spilledCounter = Counter.builder("park.audit.events.spilled")
+                .description("Audit events written to the spill file because the queue was full or the insert kept failing")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("park.audit.flush")
+                .description("Time to insert one batch of audit events")
+                .register(meterRegistry);
+        Gauge.builder("park.audit.queue.size", queue, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records {@code type} for {@code user} once the current transaction commits; nothing is recorded
+     * if it rolls back. The event is built after the commit so it sees the audit columns filled on flush.
+     */
+    public void record(User user, UserAuditEvent.Type type) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(new UserAuditEvent(user, type));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(new UserAuditEvent(user, type));
+            }
+        });
+    }
+
+    /** Records an event built by the caller once the current transaction commits. */
+    public void record(UserAuditEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive() || !queue.isEmpty()) {
+            log.error("Audit trail stopped with {} events not written", queue.size());
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    // Stops after the web server (higher phases stop first), so no request can still be producing events.
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void enqueue(UserAuditEvent event) {
+        try {
+            if (queue.offer(event, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (spill(List.of(event))) {
+            return;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(event);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<UserAuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                if (batch.isEmpty()) {
+                    UserAuditEvent first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        replaySpill();
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                if (!write(batch)) {
+                    Thread.sleep(flushInterval.toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+        while (!batch.isEmpty() || queue.drainTo(batch, batchSize) > 0) {
+            if (!write(batch)) {
+                log.error("Audit trail stopped with {} events neither stored nor spilled: {}", batch.size() + queue.size(), batch);
+                return;
+            }
+        }
+    }
+
+    /** Stores the batch, or spills it after {@code max-attempts}; returns false, keeping the batch, if both failed. */
+    private boolean write(List<UserAuditEvent> batch) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> auditEventRepository.saveAll(batch)));
+                writtenCounter.increment(batch.size());
+                batch.clear();
+                return true;
+            } catch (RuntimeException e) {
+                batch.forEach(event -> event.setId(null));
+                log.warn("Failed to write {} audit events (attempt {}/{}): {}", batch.size(), attempt, maxAttempts, e.toString());
+            }
+        }
+        if (spill(batch)) {
+            batch.clear();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean spill(List<UserAuditEvent> events) {
+        try {
+            spillFile.append(events);
+            spilledCounter.increment(events.size());
+            log.warn("Spilled {} audit events to {}", events.size(), spillFile.path());
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to spill {} audit events to {}: {}", events.size(), spillFile.path(), e.toString());
+            return false;
+        }
+    }
+
+    private void replaySpill() {
+        if (spillFile.isEmpty()) {
+            return;
+        }
+        try {
+            int replayed = spillFile.replay(events -> flushTimer.record(
+                    () -> transactionTemplate.executeWithoutResult(status -> auditEventRepository.saveAll(events))));
+            writtenCounter.increment(replayed);
+            log.info("Stored {} audit events from {}", replayed, spillFile.path());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to store spilled audit events from {}, retrying later: {}", spillFile.path(), e.toString());
+        }
+    }
+}
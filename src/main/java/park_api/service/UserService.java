@@ -1,55 +1,298 @@
 package park_api.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import lombok.RequiredArgsConstructor;
+import park_api.config.CacheConfig;
+import park_api.config.ReadYourWrites;
 import park_api.entity.User;
+import park_api.entity.UserAuditEvent;
+import park_api.exception.ConcurrentUpdateException;
 import park_api.exception.EntityNotFoundException;
 import park_api.exception.UsernameUniqueViolationException;
 import park_api.exception.PasswordInvalidException;
 import park_api.repository.UserRepository;
+import park_api.repository.projection.UserCredentials;
+import park_api.repository.projection.UserSummary;
+import park_api.service.outbox.UserOutbox;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final int STREAM_PAGE_SIZE = 500;
+
     private final UserRepository userRepository;
+    private final UsernameIndex usernameIndex;
+    private final UsernameSearchIndex usernameSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordHasher passwordHasher;
+    private final UserAuditTrail auditTrail;
+    private final AuditorAware<String> auditorAware;
+    private final DateTimeProvider dateTimeProvider;
+    private final UserSummaryLoader userSummaryLoader;
+    private final CacheManager cacheManager;
+    private final UserOutbox userOutbox;
+    private final UserShards userShards;
+    private final ReadYourWrites readYourWrites;
 
-    @Transactional
     public User create(User user) {
+        int shard = userShards.shardOf(user.getUsername());
+        return userShards.on(shard, () -> createOn(shard, user));
+    }
+
+    private User createOn(int shard, User user) {
+        if (usernameIndex.mightContain(user.getUsername()) && usernameTaken(shard, user)) {
+            throw new UsernameUniqueViolationException(String.format("Username {%s} já cadastrado", user.getUsername()));
+        }
+        user.setPassword(passwordHasher.hash(user.getPassword()));
+        user.setId(userShards.nextId(shard));
         try {
-            return userRepository.save(user);
-        } catch (Exception e) {
+            User created = transactionTemplate.execute(status -> {
+                User saved = userRepository.saveAndFlush(user);
+                userOutbox.created(List.of(saved));
+                auditTrail.record(saved, UserAuditEvent.Type.CREATED);
+                return saved;
+            });
+            usernameIndex.add(created.getUsername());
+            usernameSearchIndex.add(created);
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            if (!usernameTaken(shard, user)) {
+                throw e;
+            }
             throw new UsernameUniqueViolationException(String.format("Username {%s} já cadastrado", user.getUsername()));
         }
     }
 
-    @Transactional(readOnly = true)
-    public User getById(Long id) {
-        return userRepository.findById(id).orElseThrow(
+    /**
+     * Inserts the users in a single transaction so Hibernate can send them as one JDBC batch.
+     * Usernames already taken, or repeated within {@code users}, are skipped and returned;
+     * everything else is created. If a concurrent insert still wins the race for a name,
+     * the batch is retried row by row so only the conflicting users are rejected.
+     * With sharding there is one such transaction per shard.
+     */
+    public List<User> createAll(List<User> users) {
+        List<User> rejected = new ArrayList<>();
+        Map<Integer, List<User>> candidatesByShard = new TreeMap<>();
+        Set<String> seen = new HashSet<>();
+        for (User user : users) {
+            if (seen.add(user.getUsername().toLowerCase(Locale.ROOT))) {
+                candidatesByShard.computeIfAbsent(userShards.shardOf(user.getUsername()), shard -> new ArrayList<>()).add(user);
+            } else {
+                rejected.add(user);
+            }
+        }
+        candidatesByShard.forEach((shard, candidates) -> userShards.run(shard, () -> rejectTaken(shard, candidates, rejected)));
+
+        List<User> candidates = candidatesByShard.values().stream().flatMap(List::stream).toList();
+        List<String> encodedPasswords = passwordHasher.hashAll(candidates.stream().map(User::getPassword).toList());
+        for (int i = 0; i < candidates.size(); i++) {
+            candidates.get(i).setPassword(encodedPasswords.get(i));
+        }
+
+        candidatesByShard.forEach((shard, shardCandidates) -> userShards.run(shard, () -> insertAll(shard, shardCandidates, rejected)));
+        return rejected;
+    }
+
+    private void rejectTaken(int shard, List<User> candidates, List<User> rejected) {
+        List<String> maybeTaken = candidates.stream()
+                .map(User::getUsername)
+                .filter(usernameIndex::mightContain)
+                .toList();
+        if (!maybeTaken.isEmpty()) {
+            List<String> existing = new ArrayList<>(userRepository.findExistingUsernames(maybeTaken));
+            if (checksLegacyShard(shard)) {
+                existing.addAll(userShards.on(0, () -> userRepository.findExistingUsernames(maybeTaken)));
+            }
+            Set<String> taken = existing.stream()
+                    .map(username -> username.toLowerCase(Locale.ROOT))
+                    .collect(Collectors.toSet());
+            candidates.removeIf(user -> taken.contains(user.getUsername().toLowerCase(Locale.ROOT)) && rejected.add(user));
+        }
+    }
+
+    private void insertAll(int shard, List<User> candidates, List<User> rejected) {
+        candidates.forEach(user -> user.setId(userShards.nextId(shard)));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.saveAll(candidates);
+                userRepository.flush();
+                userOutbox.created(candidates);
+                candidates.forEach(user -> auditTrail.record(user, UserAuditEvent.Type.CREATED));
+            });
+            candidates.forEach(user -> {
+                usernameIndex.add(user.getUsername());
+                usernameSearchIndex.add(user);
+            });
+        } catch (DataIntegrityViolationException e) {
+            for (User user : candidates) {
+                user.setId(userShards.nextId(shard));
+                user.setVersion(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        userRepository.saveAndFlush(user);
+                        userOutbox.created(List.of(user));
+                        auditTrail.record(user, UserAuditEvent.Type.CREATED);
+                    });
+                    usernameIndex.add(user.getUsername());
+                    usernameSearchIndex.add(user);
+                } catch (DataIntegrityViolationException ex) {
+                    if (!usernameTaken(shard, user)) {
+                        throw ex;
+                    }
+                    rejected.add(user);
+                }
+            }
+        }
+    }
+
+    // A violation is a username conflict only if the name is now taken; anything else (a primary key
+    // clash from a sequence behind the table, say) is a real failure and must not become a 409.
+    private boolean usernameTaken(int shard, User user) {
+        return userRepository.existsByUsername(user.getUsername())
+                || checksLegacyShard(shard) && userShards.on(0, () -> userRepository.existsByUsername(user.getUsername()));
+    }
+
+    // Users from before sharding stay on shard 0 whatever their name hashes to, so a name that
+    // belongs to another shard must not be taken there either.
+    private boolean checksLegacyShard(int shard) {
+        return shard != 0 && userShards.hasLegacyUsers();
+    }
+
+    // A client pinned to the primary skips the cache, which may hold what a replica returned before
+    // its write; values read while a replica may lag behind a change are not cached at all.
+    @Cacheable(cacheNames = CacheConfig.USERS_CACHE, key = "#id",
+            condition = "!@readYourWrites.pinnedToPrimary()", unless = "@readYourWrites.mayBeStale(#id)")
+    public UserSummary getById(Long id) {
+        return userSummaryLoader.load(id).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Usuário id=%s não encontrado", id)));
     }
 
-    @Transactional()
-    public User updatePassword(Long id, String currentPassword, String newPassword, String confirmPassword) {
+    /**
+     * Returns the users with the given ids, in the order asked and without repetitions; ids that
+     * do not exist are left out. Cached users are served from the cache, the rest with one query.
+     */
+    public List<UserSummary> getAllById(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        boolean pinned = readYourWrites.pinnedToPrimary();
+        Map<Long, UserSummary> users = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (users.containsKey(id)) {
+                continue;
+            }
+            UserSummary cached = pinned ? null : cache.get(id, UserSummary.class);
+            users.put(id, cached);
+            if (cached == null) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            userSummaryLoader.loadAll(missing).forEach((id, user) -> {
+                users.put(id, user);
+                if (!readYourWrites.mayBeStale(id)) {
+                    cache.put(id, user);
+                }
+            });
+        }
+        return users.values().stream().filter(Objects::nonNull).toList();
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.USERS_CACHE, key = "#id")
+    public void updatePassword(Long id, String currentPassword, String newPassword, String confirmPassword) {
         if (!newPassword.equals(confirmPassword)) {
             throw new PasswordInvalidException("Nova senha não confere com a senha confirmada");
         }
+        int shard = userShards.shardOf(id);
+        if (shard == UserShards.NO_SHARD) {
+            throw new EntityNotFoundException(String.format("Usuário id=%s não encontrado", id));
+        }
+        userShards.run(shard, () -> updatePasswordOn(id, currentPassword, newPassword));
+        readYourWrites.recordChange(id);
+    }
 
-        User user = getById(id);
-        if (!user.getPassword().equals(currentPassword)) {
+    private void updatePasswordOn(Long id, String currentPassword, String newPassword) {
+        UserCredentials credentials = userRepository.findCredentialsById(id).orElseThrow(
+                () -> new EntityNotFoundException(String.format("Usuário id=%s não encontrado", id)));
+        if (!passwordHasher.matches(currentPassword, credentials.password())) {
             throw new PasswordInvalidException("Sua senha não confere");
         }
-        
-        user.setPassword(newPassword);
-        return user;
+
+        String encodedPassword = passwordHasher.hash(newPassword);
+        LocalDateTime modifiedAt = LocalDateTime.from(dateTimeProvider.getNow().orElseThrow());
+        String modifiedBy = auditorAware.getCurrentAuditor().orElse(null);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (userRepository.updatePassword(id, credentials.version(), encodedPassword, modifiedAt, modifiedBy) == 0) {
+                throw new ConcurrentUpdateException(
+                        String.format("Usuário id=%s foi alterado por outra requisição, tente novamente", id));
+            }
+            userOutbox.passwordChanged(id, credentials.username(), credentials.version() + 1, modifiedBy, modifiedAt);
+            auditTrail.record(new UserAuditEvent(id, credentials.username(), UserAuditEvent.Type.PASSWORD_CHANGED,
+                    modifiedBy, modifiedAt));
+        });
+    }
+
+    /** Users with an id greater than {@code after}, in id order; with sharding, merged from every shard. */
+    public List<UserSummary> getPage(Long after, int limit) {
+        long from = after == null ? 0L : after;
+        return userShards.readEach(() -> userRepository.findSummariesAfter(from, Limit.of(limit))).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(UserSummary::id))
+                .limit(limit)
+                .toList();
     }
 
-    @Transactional(readOnly = true)
-    public List<User> getAll() {
-        return userRepository.findAll();
+    public List<UserSummary> search(String prefix, int limit) {
+        return usernameSearchIndex.search(prefix, limit);
     }
+
+    /**
+     * Passes every user to {@code consumer} in id order. Unsharded this is a single cursor; cursors on
+     * several shards cannot be merged on one thread, so with sharding it walks the pages instead.
+     */
+    public void streamAll(Consumer<UserSummary> consumer) {
+        if (userShards.count() == 1) {
+            userShards.read(0, () -> {
+                try (Stream<UserSummary> users = userRepository.streamAllSummaries()) {
+                    users.forEach(consumer);
+                }
+                return null;
+            });
+            return;
+        }
+        List<UserSummary> page;
+        Long after = null;
+        do {
+            page = getPage(after, STREAM_PAGE_SIZE);
+            page.forEach(consumer);
+            after = page.isEmpty() ? null : page.get(page.size() - 1).id();
+        } while (page.size() == STREAM_PAGE_SIZE);
+    }
+
 }
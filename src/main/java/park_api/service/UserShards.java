@@ -0,0 +1,232 @@
+package park_api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import park_api.config.ShardingProperties;
+import park_api.exception.ServiceUnavailableException;
+
+/**
+ * Decides which shard holds a user and runs work against it. Without {@code park-api.sharding}
+ * there is a single shard and everything runs in place, so callers need no separate code path.
+ * <p>
+ * A user lives on the shard picked by the hash of its lower-cased username, so every spelling of a
+ * name meets the same unique constraint and usernames stay unique across shards. Its id is taken
+ * from a block reserved on that shard ({@code user_id_blocks}) and encodes the shard in
+ * {@code id % MAX_SHARDS}, so lookups by id go straight to one shard. Ids are unique and increase
+ * per shard, which keeps keyset pagination merged across shards in a single global order.
+ * Ids below {@code legacy-id-limit} were issued before sharding and stay on shard 0, the former
+ * single database, whatever their username hashes to; blocks are reserved past that limit, and a new
+ * username is checked against shard 0 as well ({@link #hasLegacyUsers}). An id whose shard is not configured belongs
+ * to no user, and routing never falls back to another shard for it.
+ * Work outside {@link #on} (the audit trail, startup) runs against shard 0. Adding a shard changes
+ * where usernames hash to, so growing the list needs an offline migration that moves the users.
+ */
+@Component
+public class UserShards implements DisposableBean {
+
+    /** Shards an id can address; the shard of a user is {@code id % MAX_SHARDS}. */
+    public static final int MAX_SHARDS = 64;
+
+    /** What {@link #shardOf(long)} returns for an id no configured shard can hold. */
+    public static final int NO_SHARD = -1;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int count;
+    private final boolean sharded;
+    private final long timeoutMillis;
+    private final long legacyIdLimit;
+    private final IdBlock[] idBlocks;
+    private final ExecutorService scatter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate scatterTransaction;
+    private final TransactionTemplate newTransaction;
+
+    public UserShards(ObjectProvider<ShardingProperties> shardingProperties, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        ShardingProperties properties = shardingProperties.getIfAvailable();
+        this.sharded = properties != null;
+        this.count = sharded ? properties.getShards().size() : 1;
+        this.timeoutMillis = sharded ? properties.getTimeout().toMillis() : 0;
+        this.legacyIdLimit = sharded ? properties.getLegacyIdLimit() : 0;
+        this.idBlocks = new IdBlock[count];
+        for (int shard = 0; shard < count; shard++) {
+            idBlocks[shard] = new IdBlock(shard, sharded ? properties.getIdBlockSize() : 0);
+        }
+        this.scatter = sharded
+                ? Executors.newFixedThreadPool(properties.getScatterThreads(), new CustomizableThreadFactory("user-shards-"))
+                : null;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Bounds the statements of a shard query that keeps running after its merged list gave up.
+        this.scatterTransaction = new TransactionTemplate(transactionManager);
+        this.scatterTransaction.setReadOnly(true);
+        this.scatterTransaction.setTimeout((int) Math.max(1, (timeoutMillis + 999) / 1000));
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** The shard selected on this thread, or {@code null} for the default one. */
+    public static Integer currentShard() {
+        return CURRENT.get();
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /** The shard holding the user with this id, or {@link #NO_SHARD} if none of the configured ones can. */
+    public int shardOf(long id) {
+        if (!sharded || id < legacyIdLimit) {
+            return 0;
+        }
+        int shard = (int) Math.floorMod(id, MAX_SHARDS);
+        return shard < count ? shard : NO_SHARD;
+    }
+
+    public int shardOf(String username) {
+        return sharded ? Math.floorMod(username.toLowerCase(Locale.ROOT).hashCode(), count) : 0;
+    }
+
+    /** Whether shard 0 may hold users from before sharding whose usernames hash to another shard. */
+    public boolean hasLegacyUsers() {
+        return sharded && legacyIdLimit > 0;
+    }
+
+    /** A new user id on {@code shard}, or {@code null} to let the {@code users_seq} sequence assign it. */
+    public Long nextId(int shard) {
+        return sharded ? idBlocks[shard].next() : null;
+    }
+
+    /** Runs {@code work} with every connection it opens taken from {@code shard}. */
+    public <T> T on(int shard, Supplier<T> work) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public void run(int shard, Runnable work) {
+        on(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /** Runs {@code work} in a read-only transaction on {@code shard}. */
+    public <T> T read(int shard, Supplier<T> work) {
+        return on(shard, () -> readOnlyTransaction.execute(status -> work.get()));
+    }
+
+    /**
+     * Runs {@code work} in a read-only transaction on every shard, in parallel, and returns the
+     * results in shard order. Unsharded it runs on the calling thread. If a shard fails or misses the
+     * timeout, the other shards' work is cancelled: interrupted, and its statements time out.
+     */
+    public <T> List<T> readEach(Supplier<T> work) {
+        if (!sharded) {
+            return List.of(read(0, work));
+        }
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int target = shard;
+            futures.add(scatter.submit(() -> on(target, () -> scatterTransaction.execute(status -> work.get()))));
+        }
+        List<T> results = new ArrayList<>(count);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            for (Future<T> future : futures) {
+                results.add(await(future, deadline));
+            }
+        } finally {
+            if (results.size() < count) {
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        if (scatter != null) {
+            scatter.shutdown();
+        }
+    }
+
+    private <T> T await(Future<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Serviço sobrecarregado, tente novamente em instantes");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Requisição interrompida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Reserved in its own transaction so the row lock is held only for the reservation.
+    private long reserveBlock(int shard, long firstHi) {
+        return on(shard, () -> newTransaction.execute(status -> {
+            jdbcTemplate.update("update user_id_blocks set next_hi = greatest(next_hi, ?) + 1", firstHi);
+            return jdbcTemplate.queryForObject("select next_hi - 1 from user_id_blocks", Long.class);
+        }));
+    }
+
+    /** Hands out the ids of one reserved block at a time (hi/lo). */
+    private final class IdBlock {
+
+        private final int shard;
+        private final int size;
+        private final long firstHi;
+        private long next;
+        private long end;
+
+        IdBlock(int shard, int size) {
+            this.shard = shard;
+            this.size = size;
+            // The first block whose ids all lie at or past legacy-id-limit.
+            long idsPerHi = (long) size * MAX_SHARDS;
+            this.firstHi = size == 0 ? 0 : (legacyIdLimit + idsPerHi - 1) / idsPerHi;
+        }
+
+        synchronized long next() {
+            if (next == end) {
+                next = reserveBlock(shard, firstHi) * size;
+                end = next + size;
+            }
+            return next++ * MAX_SHARDS + shard;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package park_api.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import park_api.config.ReadYourWrites;
+import park_api.exception.ServiceUnavailableException;
+import park_api.repository.UserRepository;
+import park_api.repository.projection.UserSummary;
+
+/**
+ * Loads user summaries by id, dataloader-style. A lookup for an id that is already being loaded
+ * joins that load instead of issuing its own (single-flight); the remaining ids requested within
+ * {@code batch-window} of each other are fetched together with one {@code IN} query, in batches of
+ * at most {@code max-batch-size}, one query per shard. The window delays an uncached lookup by up to its length.
+ * <p>
+ * Coalescing widens the usual read race slightly: a lookup that starts just after a write commits
+ * may join a load that started just before it and see the previous state. A client that just
+ * wrote ({@link ReadYourWrites}) skips the loader and reads on its own thread, where the routing
+ * can see the request and send it to the primary.
+ */
+@Component
+public class UserSummaryLoader implements DisposableBean {
+
+    private final UserRepository userRepository;
+    private final UserShards userShards;
+    private final ReadYourWrites readYourWrites;
+    private final ScheduledThreadPoolExecutor executor;
+    private final Duration batchWindow;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final Map<Long, CompletableFuture<Optional<UserSummary>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCounter;
+    private final DistributionSummary batchSizes;
+    private List<Long> pending = new ArrayList<>();
+
+    public UserSummaryLoader(UserRepository userRepository, UserShards userShards, ReadYourWrites readYourWrites,
+            MeterRegistry meterRegistry,
+            @Value("${park-api.users.loader.batch-window:2ms}") Duration batchWindow,
+            @Value("${park-api.users.loader.max-batch-size:100}") int maxBatchSize,
+            @Value("${park-api.users.loader.threads:4}") int threads,
+            @Value("${park-api.users.loader.timeout:5s}") Duration timeout) {
+        this.userRepository = userRepository;
+        this.userShards = userShards;
+        this.readYourWrites = readYourWrites;
+        this.executor = new ScheduledThreadPoolExecutor(threads, new CustomizableThreadFactory("user-loader-"));
+        this.batchWindow = batchWindow;
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+        this.coalescedCounter = Counter.builder("park.users.loader.coalesced")
+                .description("Lookups answered by a load already in flight for the same id")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("park.users.loader.batch.size")
+                .description("Ids fetched per query")
+                .register(meterRegistry);
+    }
+
+    public Optional<UserSummary> load(Long id) {
+        if (readYourWrites.pinnedToPrimary()) {
+            return Optional.ofNullable(query(List.of(id)).get(id));
+        }
+        return await(submit(id));
+    }
+
+    /** Returns the summaries found, keyed by id in the order of {@code ids}. */
+    public Map<Long, UserSummary> loadAll(Collection<Long> ids) {
+        if (readYourWrites.pinnedToPrimary()) {
+            Map<Long, UserSummary> found = query(List.copyOf(ids));
+            Map<Long, UserSummary> users = new LinkedHashMap<>();
+            ids.forEach(id -> Optional.ofNullable(found.get(id)).ifPresent(user -> users.put(id, user)));
+            return users;
+        }
+        Map<Long, CompletableFuture<Optional<UserSummary>>> futures = new LinkedHashMap<>();
+        for (Long id : ids) {
+            futures.computeIfAbsent(id, this::submit);
+        }
+        Map<Long, UserSummary> users = new LinkedHashMap<>();
+        futures.forEach((id, future) -> await(future).ifPresent(user -> users.put(id, user)));
+        return users;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private CompletableFuture<Optional<UserSummary>> submit(Long id) {
+        CompletableFuture<Optional<UserSummary>> future = new CompletableFuture<>();
+        CompletableFuture<Optional<UserSummary>> existing = inFlight.putIfAbsent(id, future);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return existing;
+        }
+
+        List<Long> full = null;
+        synchronized (this) {
+            pending.add(id);
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new ArrayList<>();
+            } else if (pending.size() == 1) {
+                executor.schedule(this::fetchPending, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            List<Long> batch = full;
+            executor.execute(() -> fetch(batch));
+        }
+        return future;
+    }
+
+    private void fetchPending() {
+        List<Long> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        if (!batch.isEmpty()) {
+            fetch(batch);
+        }
+    }
+
+    private void fetch(List<Long> ids) {
+        batchSizes.record(ids.size());
+        try {
+            Map<Long, UserSummary> found = query(ids);
+            for (Long id : ids) {
+                inFlight.remove(id).complete(Optional.ofNullable(found.get(id)));
+            }
+        } catch (RuntimeException e) {
+            for (Long id : ids) {
+                inFlight.remove(id).completeExceptionally(e);
+            }
+        }
+    }
+
+    private Map<Long, UserSummary> query(List<Long> ids) {
+        Map<Long, UserSummary> found = new HashMap<>();
+        ids.stream()
+                .collect(Collectors.groupingBy(userShards::shardOf))
+                .forEach((shard, shardIds) -> {
+                    if (shard != UserShards.NO_SHARD) {
+                        userShards.read(shard, () -> userRepository.findSummariesByIdIn(shardIds))
+                                .forEach(user -> found.put(user.id(), user));
+                    }
+                });
+        return found;
+    }
+
+    private Optional<UserSummary> await(CompletableFuture<Optional<UserSummary>> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Serviço sobrecarregado, tente novamente em instantes");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Requisição interrompida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
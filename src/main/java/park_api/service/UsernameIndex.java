@@ -0,0 +1,111 @@
+package park_api.service;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import park_api.repository.UserRepository;
+
+/**
+ * Bloom filter over every username in the {@code users} table of every shard.
+ * <p>
+ * A negative answer is definitive, so a new username never costs an extra query before its INSERT.
+ * A positive answer may be a false positive and must be confirmed against the database. Rows deleted
+ * outside the application only make the filter return more false positives; it never rejects a free name.
+ */
+@Slf4j
+@Component
+public class UsernameIndex {
+
+    private final UserRepository userRepository;
+    private final UserShards userShards;
+    private final AtomicLongArray bits;
+    private final long numBits;
+    private final int numHashes;
+
+    public UsernameIndex(UserRepository userRepository, UserShards userShards,
+            @Value("${park-api.users.username-index.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${park-api.users.username-index.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.userShards = userShards;
+        long wordsNeeded = (long) Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)) / Long.SIZE);
+        this.bits = new AtomicLongArray(Math.toIntExact(Math.max(1, wordsNeeded)));
+        this.numBits = (long) bits.length() * Long.SIZE;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long count = 0;
+        for (int shard = 0; shard < userShards.count(); shard++) {
+            count += userShards.read(shard, () -> {
+                try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                    return usernames.peek(this::add).count();
+                }
+            });
+        }
+        log.info("Username index loaded with {} usernames ({} KiB, {} hashes)",
+                count, bits.length() * Long.BYTES / 1024, numHashes);
+    }
+
+    public boolean mightContain(String username) {
+        long hash1 = hash(username);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            if (!isSet(Math.floorMod(hash1 + i * hash2, numBits))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void add(String username) {
+        long hash1 = hash(username);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            set(Math.floorMod(hash1 + i * hash2, numBits));
+        }
+    }
+
+    private boolean isSet(long bit) {
+        return (bits.get((int) (bit >>> 6)) & (1L << bit)) != 0;
+    }
+
+    private void set(long bit) {
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+        while (((current = bits.get(word)) & mask) == 0) {
+            if (bits.compareAndSet(word, current, current | mask)) {
+                return;
+            }
+        }
+    }
+
+    // Usernames are compared case-insensitively by the MySQL collation, so fold case before hashing.
+    private static long hash(String username) {
+        String key = username.toLowerCase(Locale.ROOT);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,76 @@
+package park_api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import park_api.entity.User;
+import park_api.repository.UserRepository;
+import park_api.repository.projection.UserSummary;
+
+/**
+ * Every username, lower-cased and kept sorted in memory, so a prefix lookup is a range scan over a
+ * skip list instead of a {@code LIKE} on the {@code users} table. Loaded at startup and updated
+ * when users are created; reads and writes are lock-free. Rows inserted or deleted outside the
+ * application are only seen after a restart.
+ * <p>
+ * Footprint: about 130 bytes per entry for 20-25 character ASCII usernames with compressed oops,
+ * i.e. roughly 130 MB of heap per million users (skip-list node and index, key string, entry).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UsernameSearchIndex {
+
+    private final UserRepository userRepository;
+    private final UserShards userShards;
+    private final NavigableMap<String, Entry> usernames = new ConcurrentSkipListMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (int shard = 0; shard < userShards.count(); shard++) {
+            userShards.read(shard, () -> {
+                try (Stream<UserSummary> users = userRepository.streamAllSummaries()) {
+                    users.forEach(user -> put(user.id(), user.username(), user.role()));
+                }
+                return null;
+            });
+        }
+        log.info("Username search index loaded with {} usernames", usernames.size());
+    }
+
+    public void add(User user) {
+        put(user.getId(), user.getUsername(), user.getRole());
+    }
+
+    /** Users whose username starts with {@code prefix}, ignoring case, in username order. */
+    public List<UserSummary> search(String prefix, int limit) {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        List<UserSummary> result = new ArrayList<>(Math.min(limit, 16));
+        for (Entry entry : usernames.tailMap(from, true).values()) {
+            if (result.size() == limit || !entry.key().startsWith(from)) {
+                break;
+            }
+            result.add(new UserSummary(entry.id(), entry.username(), entry.role(), null, null));
+        }
+        return result;
+    }
+
+    private void put(Long id, String username, User.Role role) {
+        String key = username.toLowerCase(Locale.ROOT);
+        usernames.put(key, new Entry(key, id, username, role));
+    }
+
+    // key is the same String instance as username whenever the username is already lower case
+    private record Entry(String key, long id, String username, User.Role role) {
+    }
+}
@@ -0,0 +1,56 @@
+package park_api.service.outbox;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import park_api.entity.UserAuditEvent;
+import park_api.repository.projection.OutboxMessage;
+
+/**
+ * Local stand-in for a broker: appends each message as one JSON line to a file and forces it to
+ * disk before acknowledging the batch.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) throws IOException {
+        StringBuilder lines = new StringBuilder(messages.size() * 256);
+        for (OutboxMessage message : messages) {
+            lines.append(objectMapper.writeValueAsString(new Line(message.id(), message.userId(), message.userVersion(),
+                    message.type(), message.createdAt(), message.payload()))).append('\n');
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+                Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8)) {
+            writer.write(lines.toString());
+            writer.flush();
+            channel.force(false);
+        }
+    }
+
+    record Line(Long id, Long userId, Long userVersion, UserAuditEvent.Type type, LocalDateTime createdAt,
+            @JsonRawValue String payload) {
+    }
+}
@@ -0,0 +1,142 @@
+package park_api.service.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import park_api.repository.UserOutboxRepository;
+import park_api.repository.projection.OutboxMessage;
+import park_api.service.UserShards;
+
+/**
+ * Drains the user outbox: every {@code poll-interval} it publishes the oldest messages to the
+ * {@link OutboxSink} in batches of {@code batch-size} and deletes them once the sink accepted them.
+ * <p>
+ * Delivery is at-least-once: a batch is deleted only after it was published, so a failure in
+ * between publishes it again. Changes of one user are published in the order they were made, as
+ * their ids increase and batches are taken in id order. Every instance may run the relay: a batch is
+ * locked ({@code for update}), published and deleted in one transaction, so another relay waits for
+ * it and then takes the next batch. Skipping the locked rows instead would let the next batch be
+ * published first. With sharding each shard has its own outbox, drained in turn; a user's changes
+ * all sit on its shard.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "park-api.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final UserOutboxRepository outboxRepository;
+    private final UserShards userShards;
+    private final OutboxSink sink;
+    private final int batchSize;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter publishedCounter;
+    private final Counter failuresCounter;
+    private final Timer lagTimer;
+    private final Timer batchTimer;
+
+    public OutboxRelay(UserOutboxRepository outboxRepository, UserShards userShards, OutboxSink sink,
+            MeterRegistry meterRegistry, PlatformTransactionManager transactionManager,
+            @Value("${park-api.outbox.batch-size:500}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.userShards = userShards;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishedCounter = Counter.builder("park.outbox.published")
+                .description("User change messages published")
+                .register(meterRegistry);
+        this.failuresCounter = Counter.builder("park.outbox.failures")
+                .description("Outbox batches that failed and will be published again")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("park.outbox.lag")
+                .description("Time from a change being committed to its message being published")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("park.outbox.batch")
+                .description("Time to publish and delete one batch")
+                .register(meterRegistry);
+        Gauge.builder("park.outbox.oldest.age", this, OutboxRelay::oldestAgeSeconds)
+                .description("Age of the oldest unpublished message; grows while the relay falls behind")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${park-api.outbox.poll-interval:500ms}")
+    public void relay() {
+        for (int shard = 0; shard < userShards.count(); shard++) {
+            userShards.run(shard, this::relayShard);
+        }
+    }
+
+    private void relayShard() {
+        try {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            failuresCounter.increment();
+            Throwable cause = e instanceof SinkException ? e.getCause() : e;
+            log.warn("Failed to publish user outbox batch, retrying on the next poll: {}", cause.toString());
+        }
+    }
+
+    private int relayBatch() {
+        return transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = outboxRepository.lockOldest(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            publish(batch);
+            return batch.size();
+        });
+    }
+
+    private void publish(List<OutboxMessage> batch) {
+        long start = System.nanoTime();
+        try {
+            sink.publish(batch);
+        } catch (Exception e) {
+            throw new SinkException(e);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxMessage message : batch) {
+            lagTimer.record(Duration.between(message.createdAt(), now));
+        }
+        outboxRepository.delete(batch.stream().map(OutboxMessage::id).toList());
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        publishedCounter.increment(batch.size());
+    }
+
+    private double oldestAgeSeconds() {
+        double oldest = 0;
+        for (int shard = 0; shard < userShards.count(); shard++) {
+            oldest = Math.max(oldest, userShards.on(shard, outboxRepository::findOldestCreatedAt)
+                    .map(createdAt -> Duration.between(createdAt, LocalDateTime.now()).toMillis() / 1000.0)
+                    .orElse(0.0));
+        }
+        return oldest;
+    }
+
+    /** Carries a checked exception of the sink out of the transaction callback, rolling it back. */
+    private static final class SinkException extends RuntimeException {
+
+        SinkException(Exception cause) {
+            super(cause);
+        }
+    }
+}
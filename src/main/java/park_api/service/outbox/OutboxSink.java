@@ -0,0 +1,18 @@
+package park_api.service.outbox;
+
+import java.util.List;
+
+import park_api.repository.projection.OutboxMessage;
+
+/**
+ * Where {@link OutboxRelay} publishes user changes. Declare a bean of this type to replace the
+ * default {@link FileOutboxSink}, e.g. with a message broker producer.
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers the messages in the given order. Returning means all of them were accepted; throwing
+     * makes the relay publish the whole batch again later, so a sink may see a message more than once.
+     */
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
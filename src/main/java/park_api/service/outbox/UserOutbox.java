@@ -0,0 +1,64 @@
+package park_api.service.outbox;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import park_api.entity.User;
+import park_api.entity.UserAuditEvent;
+import park_api.repository.UserOutboxRepository;
+import park_api.repository.projection.OutboxMessage;
+
+/**
+ * Records user changes for downstream systems. Messages are written in the transaction that makes
+ * the change, so they are stored if and only if the change commits; {@link OutboxRelay} publishes them.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserOutbox {
+
+    private final UserOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(Collection<User> users) {
+        List<OutboxMessage> messages = new ArrayList<>(users.size());
+        for (User user : users) {
+            messages.add(message(new UserChange(user.getId(), user.getUsername(),
+                    user.getRole().name().substring("ROLE_".length()), user.getVersion(), UserAuditEvent.Type.CREATED,
+                    user.getCreatedBy(), user.getCreatedAt())));
+        }
+        outboxRepository.append(messages);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void passwordChanged(Long userId, String username, Long version, String actor, LocalDateTime changedAt) {
+        outboxRepository.append(List.of(message(new UserChange(userId, username, null, version,
+                UserAuditEvent.Type.PASSWORD_CHANGED, actor, changedAt))));
+    }
+
+    private OutboxMessage message(UserChange change) {
+        try {
+            return new OutboxMessage(null, change.userId(), change.version(), change.type(),
+                    objectMapper.writeValueAsString(change), LocalDateTime.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** The message payload, in the same terms as the API (role without the ROLE_ prefix). */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record UserChange(Long userId, String username, String role, Long version, UserAuditEvent.Type type,
+            String actor, LocalDateTime occurredAt) {
+    }
+}
@@ -1,16 +1,45 @@
 package park_api.web.controller;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -18,15 +47,27 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import park_api.entity.User;
+import park_api.exception.ServiceUnavailableException;
+import park_api.exception.TooManyIdsException;
+import park_api.repository.projection.UserSummary;
 import park_api.service.UserService;
+import park_api.web.dto.UserBulkErrorDto;
+import park_api.web.dto.UserBulkResponseDto;
 import park_api.web.dto.UserCreateDto;
 import park_api.web.dto.UserPasswordDto;
 import park_api.web.dto.UserResponseDto;
 import park_api.web.dto.mapper.UserMapper;
 import park_api.web.exception.ErrorMessage;
+import park_api.web.metrics.ApiMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Tag(name = "users", description = "Contém todas as operações relativas aos recursos para cadastro, edição e leitura de um usuário")
 @RestController
@@ -34,7 +75,17 @@ import park_api.web.exception.ErrorMessage;
 @RequiredArgsConstructor
 public class UserController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int EXPORT_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApiMetrics apiMetrics;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int bulkBatchSize;
 
     @Operation(
         summary = "Criar um novo usuário",
@@ -69,7 +120,125 @@ public class UserController {
     @PostMapping
     public ResponseEntity<UserResponseDto> create(@Valid @RequestBody UserCreateDto userCreateDto) {
         User userCreated = userService.create(UserMapper.toUser(userCreateDto));
-        return ResponseEntity.status(HttpStatus.CREATED).body(UserMapper.toDto(userCreated));
+        return ResponseEntity.status(HttpStatus.CREATED).body(apiMetrics.timeMapping("create", () -> UserMapper.toDto(userCreated)));
+    }
+
+    @Operation(
+        summary = "Criar usuários em lote",
+        description = "Recurso para criar vários usuários em uma única requisição, a partir de um array JSON " +
+                "ou de um usuário por linha (NDJSON). Cada usuário é validado individualmente e as falhas " +
+                "são retornadas por linha, sem interromper a criação dos demais. No NDJSON uma linha com JSON " +
+                "inválido é reportada e as seguintes continuam sendo processadas; num array JSON malformado não " +
+                "é possível retomar a leitura, então o erro é reportado, os itens seguintes não são lidos e " +
+                "'truncated' vem como true. Se o serviço estiver sobrecarregado, os usuários do trecho afetado " +
+                "são reportados como não criados e os demais continuam sendo processados",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Lote processado",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = UserBulkResponseDto.class)
+                )
+            )
+        }
+    )
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<UserBulkResponseDto> createAll(HttpServletRequest request) throws IOException {
+        UserBulkResponseDto result = new UserBulkResponseDto();
+        Map<User, Integer> rows = new IdentityHashMap<>();
+        List<User> batch = new ArrayList<>(bulkBatchSize);
+
+        ObjectReader reader = objectMapper.readerFor(UserCreateDto.class);
+        boolean ndjson = request.getContentType() != null
+                && MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()));
+
+        if (ndjson) {
+            // One value per line, so a malformed line is skipped and reading resumes at the next one.
+            try (BufferedReader lines = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    int row = result.getReceived() + 1;
+                    result.setReceived(row);
+                    try {
+                        accept(row, reader.readValue(line), batch, rows, result);
+                    } catch (JsonProcessingException e) {
+                        result.getErrors().add(new UserBulkErrorDto(row, null, "JSON inválido: " + e.getOriginalMessage()));
+                    }
+                }
+            }
+        } else {
+            // A broken array cannot be resumed: the parser does not know where the next element starts.
+            try (InputStream body = request.getInputStream();
+                    MappingIterator<UserCreateDto> dtos = reader.readValues(body)) {
+                while (true) {
+                    int row = result.getReceived() + 1;
+                    UserCreateDto dto;
+                    try {
+                        if (!dtos.hasNextValue()) {
+                            break;
+                        }
+                        dto = dtos.nextValue();
+                    } catch (JsonProcessingException e) {
+                        result.getErrors().add(new UserBulkErrorDto(row, null,
+                                "JSON inválido: " + e.getOriginalMessage() + "; os itens seguintes não foram processados"));
+                        result.setTruncated(true);
+                        break;
+                    }
+                    result.setReceived(row);
+                    accept(row, dto, batch, rows, result);
+                }
+            }
+        }
+        createBatch(batch, rows, result);
+        result.getErrors().sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        return ResponseEntity.ok(result);
+    }
+
+    private void accept(int row, UserCreateDto dto, List<User> batch, Map<User, Integer> rows, UserBulkResponseDto result) {
+        Set<ConstraintViolation<UserCreateDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            result.getErrors().add(new UserBulkErrorDto(row, dto.getUsername(), violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "))));
+            return;
+        }
+
+        User user = UserMapper.toUser(dto);
+        rows.put(user, row);
+        batch.add(user);
+        if (batch.size() == bulkBatchSize) {
+            createBatch(batch, rows, result);
+        }
+    }
+
+    private void createBatch(List<User> batch, Map<User, Integer> rows, UserBulkResponseDto result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<User> rejected;
+        try {
+            rejected = userService.createAll(batch);
+        } catch (ServiceUnavailableException e) {
+            // Passwords are hashed before anything of the chunk is written, so none of it was created.
+            for (User user : batch) {
+                result.getErrors().add(new UserBulkErrorDto(rows.get(user), user.getUsername(), e.getMessage()));
+            }
+            batch.forEach(rows::remove);
+            batch.clear();
+            return;
+        }
+        for (User user : rejected) {
+            result.getErrors().add(new UserBulkErrorDto(rows.get(user), user.getUsername(),
+                    String.format("Username {%s} já cadastrado", user.getUsername())));
+        }
+        result.setCreated(result.getCreated() + batch.size() - rejected.size());
+        batch.forEach(rows::remove);
+        batch.clear();
     }
 
     @Operation(
@@ -84,6 +253,11 @@ public class UserController {
                     schema = @Schema(implementation = UserResponseDto.class)
                 )
             ),
+            @ApiResponse(
+                responseCode = "304",
+                description = "Recurso não modificado desde a versão informada em If-None-Match/If-Modified-Since",
+                content = @Content(schema = @Schema(implementation = Void.class))
+            ),
             @ApiResponse(
                 responseCode = "404",
                 description = "Recurso não encontrado",
@@ -95,9 +269,12 @@ public class UserController {
         }
     )
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponseDto> getById(@PathVariable Long id) {
-        User user = userService.getById(id);
-        return ResponseEntity.ok(UserMapper.toDto(user));
+    public ResponseEntity<UserResponseDto> getById(@PathVariable Long id, WebRequest webRequest) {
+        UserSummary user = userService.getById(id);
+        if (notModified(webRequest, List.of(user))) {
+            return null;
+        }
+        return ResponseEntity.ok(apiMetrics.timeMapping("getById", () -> UserMapper.toDto(user)));
     }
 
     @Operation(
@@ -125,6 +302,14 @@ public class UserController {
                     schema = @Schema(implementation = ErrorMessage.class)
                 )
             ),
+            @ApiResponse(
+                responseCode = "409",
+                description = "Senha alterada por outra requisição ao mesmo tempo",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorMessage.class)
+                )
+            ),
             @ApiResponse(
                 responseCode = "422", 
                 description = "Campos inválidos ou mal formatado", 
@@ -146,8 +331,10 @@ public class UserController {
     }
 
     @Operation(
-        summary = "Listar todos os usuários",
-        description = "Recurso para listar todos os usuários cadastrados no sistema",
+        summary = "Listar usuários com paginação por cursor",
+        description = "Recurso para listar os usuários cadastrados no sistema em ordem de id. " +
+                "Use o parâmetro 'after' com o último id recebido para obter a próxima página; " +
+                "o cabeçalho 'Link' (rel=\"next\") traz a URL da próxima página quando houver",
         responses = {
             @ApiResponse(
                 responseCode = "200",
@@ -156,12 +343,194 @@ public class UserController {
                     mediaType = "application/json",
                     array = @ArraySchema(schema = @Schema(implementation = UserResponseDto.class))
                 )
+            ),
+            @ApiResponse(
+                responseCode = "304",
+                description = "Página não modificada desde a versão informada em If-None-Match/If-Modified-Since",
+                content = @Content(schema = @Schema(implementation = Void.class))
             )
         }
     )
     @GetMapping()
-    public ResponseEntity<List<UserResponseDto>> getAll() {
-        List<User> users = userService.getAll();
-        return ResponseEntity.ok(UserMapper.toListDto(users));
+    public ResponseEntity<List<UserResponseDto>> getAll(@RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int limit, WebRequest webRequest) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<UserSummary> users = userService.getPage(after, pageSize);
+        if (notModified(webRequest, users)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (users.size() == pageSize) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", users.get(users.size() - 1).id())
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(apiMetrics.timeMapping("getAll", () -> UserMapper.toListDto(users)));
+    }
+
+    @Operation(
+        summary = "Recuperar vários usuários pelo id",
+        description = "Recurso para recuperar, em uma única requisição, os usuários cujos ids foram informados " +
+                "(ex.: ?ids=1,2,3), no máximo 1000 por requisição. Os usuários são retornados na ordem dos ids, " +
+                "sem repetições; ids inexistentes são ignorados",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Usuários recuperados com sucesso",
+                content = @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = UserResponseDto.class))
+                )
+            ),
+            @ApiResponse(
+                responseCode = "304",
+                description = "Usuários não modificados desde a versão informada em If-None-Match/If-Modified-Since",
+                content = @Content(schema = @Schema(implementation = Void.class))
+            ),
+            @ApiResponse(
+                responseCode = "422",
+                description = "Mais ids do que o permitido por requisição",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorMessage.class)
+                )
+            )
+        }
+    )
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<UserResponseDto>> getAllById(@RequestParam List<Long> ids, WebRequest webRequest) {
+        if (ids.size() > MAX_PAGE_SIZE) {
+            throw new TooManyIdsException(String.format("Informe no máximo %d ids por requisição", MAX_PAGE_SIZE));
+        }
+        List<UserSummary> users = userService.getAllById(ids);
+        if (notModified(webRequest, users)) {
+            return null;
+        }
+        return ResponseEntity.ok(apiMetrics.timeMapping("getAllById", () -> UserMapper.toListDto(users)));
+    }
+
+    @Operation(
+        summary = "Buscar usuários pelo início do username",
+        description = "Recurso de autocompletar: retorna, em ordem alfabética, os usuários cujo username " +
+                "começa com o prefixo informado (sem diferenciar maiúsculas). Servido por um índice em memória",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Usuários encontrados com sucesso",
+                content = @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = UserResponseDto.class))
+                )
+            )
+        }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<UserResponseDto>> search(@RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (prefix.isBlank()) {
+            return ResponseEntity.ok(List.of());
+        }
+        List<UserSummary> users = userService.search(prefix.strip(), Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)));
+        return ResponseEntity.ok(apiMetrics.timeMapping("search", () -> UserMapper.toListDto(users)));
+    }
+
+    @Operation(
+        summary = "Exportar todos os usuários",
+        description = "Recurso para listar todos os usuários cadastrados no sistema em um único array JSON, " +
+                "escrito na resposta à medida que as linhas são lidas do banco de dados",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Usuários listados com sucesso",
+                content = @Content(
+                    mediaType = "application/json",
+                    array = @ArraySchema(schema = @Schema(implementation = UserResponseDto.class))
+                )
+            )
+        }
+    )
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                userService.streamAll(user -> {
+                    try {
+                        generator.writeObject(UserMapper.toDto(user));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @Operation(
+        summary = "Exportar todos os usuários em NDJSON",
+        description = "Recurso para exportar todos os usuários cadastrados no sistema, um JSON por linha. " +
+                "Os usuários são lidos do banco em páginas conforme o cliente consome a resposta",
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Usuários exportados com sucesso",
+                content = @Content(
+                    mediaType = "application/x-ndjson",
+                    schema = @Schema(implementation = UserResponseDto.class)
+                )
+            )
+        }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserResponseDto> exportAll() {
+        return exportPage(null)
+                .expand(users -> users.size() < EXPORT_PAGE_SIZE
+                        ? Mono.empty()
+                        : exportPage(users.get(users.size() - 1).id()))
+                .concatMapIterable(UserMapper::toListDto, 1);
+    }
+
+    // JSON and CBOR bodies share one validator, so caches have to tell them apart by Accept.
+    private static boolean notModified(WebRequest webRequest, List<UserSummary> users) {
+        if (webRequest instanceof ServletWebRequest servletWebRequest && servletWebRequest.getResponse() != null) {
+            servletWebRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        return webRequest.checkNotModified(eTag(users), lastModified(users));
+    }
+
+    /*
+     * Validators are computed from the projections so a 304 never pays for building or
+     * serializing the DTOs. The tag is weak: the same data goes out as JSON or CBOR, gzipped or not,
+     * and Tomcat refuses to compress a response carrying a strong tag.
+     */
+    private static String eTag(List<UserSummary> users) {
+        StringBuilder validator = new StringBuilder(users.size() * 64);
+        for (UserSummary user : users) {
+            validator.append(user.id()).append(':')
+                    .append(user.username()).append(':')
+                    .append(user.role()).append(':')
+                    .append(user.changedAt()).append(';');
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(validator.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static long lastModified(List<UserSummary> users) {
+        long lastModified = -1;
+        for (UserSummary user : users) {
+            LocalDateTime changedAt = user.changedAt();
+            if (changedAt != null) {
+                lastModified = Math.max(lastModified, changedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+        }
+        return lastModified;
+    }
+
+    private Mono<List<UserSummary>> exportPage(Long after) {
+        return Mono.fromCallable(() -> userService.getPage(after, EXPORT_PAGE_SIZE))
+                .subscribeOn(Schedulers.boundedElastic());
     }
 }
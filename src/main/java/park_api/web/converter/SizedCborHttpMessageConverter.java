@@ -0,0 +1,37 @@
+package park_api.web.converter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Timer;
+
+/** CBOR converter that sends bodies up to {@code limit} bytes with a Content-Length, timing each write. */
+public class SizedCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    private final int limit;
+    private final Timer timer;
+
+    public SizedCborHttpMessageConverter(ObjectMapper objectMapper, int limit, Timer timer) {
+        super(objectMapper);
+        this.limit = limit;
+        this.timer = timer;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        long start = System.nanoTime();
+        try {
+            SizedOutputMessage sized = new SizedOutputMessage(outputMessage, limit);
+            super.writeInternal(object, type, sized);
+            sized.finish();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
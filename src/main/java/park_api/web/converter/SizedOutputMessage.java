@@ -0,0 +1,91 @@
+package park_api.web.converter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+/**
+ * Holds back the first {@code limit} bytes of a body. A body that ends within the limit is sent
+ * with a Content-Length, so Tomcat can tell it is below {@code server.compression.min-response-size}
+ * and skip compressing it; a larger body spills to the response and is streamed as before.
+ * Without this every body went out chunked, because the converters flush after writing.
+ */
+final class SizedOutputMessage implements HttpOutputMessage {
+
+    private final HttpOutputMessage target;
+    private final Body body;
+
+    SizedOutputMessage(HttpOutputMessage target, int limit) {
+        this.target = target;
+        this.body = new Body(limit);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return target.getHeaders();
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return body;
+    }
+
+    void finish() throws IOException {
+        body.finish();
+    }
+
+    private final class Body extends OutputStream {
+
+        private final byte[] buffer;
+        private int count;
+        private OutputStream out;
+
+        Body(int limit) {
+            this.buffer = new byte[limit];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (out == null && count < buffer.length) {
+                buffer[count++] = (byte) b;
+            } else {
+                spill().write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (out == null && len <= buffer.length - count) {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+            } else {
+                spill().write(b, off, len);
+            }
+        }
+
+        // Flushes of a body still within the limit are held back, they would commit the response.
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        private OutputStream spill() throws IOException {
+            if (out == null) {
+                out = target.getBody();
+                out.write(buffer, 0, count);
+            }
+            return out;
+        }
+
+        void finish() throws IOException {
+            if (out == null) {
+                target.getHeaders().setContentLength(count);
+                target.getBody().write(buffer, 0, count);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package park_api.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBulkErrorDto {
+    private int row;
+    private String username;
+    private String message;
+}
@@ -0,0 +1,20 @@
+package park_api.web.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserBulkResponseDto {
+    private int received;
+    private int created;
+    private List<UserBulkErrorDto> errors = new ArrayList<>();
+
+    /** A malformed JSON array stopped the import; items after the reported error were not read. */
+    private boolean truncated;
+}
@@ -1,14 +1,18 @@
 package park_api.web.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import park_api.web.dto.serializer.UserResponseDtoSerializer;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonSerialize(using = UserResponseDtoSerializer.class)
 public class UserResponseDto {
     private Long id;
     private String username;
@@ -1,34 +1,45 @@
 package park_api.web.dto.mapper;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import org.modelmapper.ModelMapper;
-import org.modelmapper.PropertyMap;
+import java.util.Map;
 
 import park_api.entity.User;
+import park_api.repository.projection.UserSummary;
 import park_api.web.dto.UserCreateDto;
 import park_api.web.dto.UserResponseDto;
 
 public class UserMapper {
+
+    private static final Map<User.Role, String> ROLE_NAMES = new EnumMap<>(User.Role.class);
+
+    static {
+        for (User.Role role : User.Role.values()) {
+            ROLE_NAMES.put(role, role.name().substring("ROLE_".length()));
+        }
+    }
+
     public static User toUser(UserCreateDto userCreateDto) {
-        return new ModelMapper().map(userCreateDto, User.class);
+        User user = new User();
+        user.setUsername(userCreateDto.getUsername());
+        user.setPassword(userCreateDto.getPassword());
+        return user;
     }
 
     public static UserResponseDto toDto(User user) {
-        String role = user.getRole().name().substring("ROLE_".length());
-        PropertyMap<User, UserResponseDto> props = new PropertyMap<User, UserResponseDto>() {
-            @Override
-            protected void configure() {
-                map().setRole(role);
-            }
-        };
-        ModelMapper mapper = new ModelMapper();
-        mapper.addMappings(props);
-        return mapper.map(user, UserResponseDto.class);
+        return new UserResponseDto(user.getId(), user.getUsername(), ROLE_NAMES.get(user.getRole()));
     }
     
-    public static List<UserResponseDto> toListDto(List<User> users) {
-        return users.stream().map(user -> toDto(user)).collect(Collectors.toList());
+    public static UserResponseDto toDto(UserSummary user) {
+        return new UserResponseDto(user.id(), user.username(), ROLE_NAMES.get(user.role()));
+    }
+
+    public static List<UserResponseDto> toListDto(List<UserSummary> users) {
+        List<UserResponseDto> dtos = new ArrayList<>(users.size());
+        for (UserSummary user : users) {
+            dtos.add(toDto(user));
+        }
+        return dtos;
     }
 }
@@ -0,0 +1,59 @@
+package park_api.web.dto.serializer;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import park_api.entity.User;
+import park_api.web.dto.UserResponseDto;
+
+/**
+ * Writes {@link UserResponseDto} without bean introspection. Field names and the role values,
+ * which never change, are encoded once into {@link SerializedString}s and copied as bytes into
+ * every response; only id and username are encoded per object. Works for JSON and CBOR alike.
+ */
+public class UserResponseDtoSerializer extends StdSerializer<UserResponseDto> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString USERNAME = new SerializedString("username");
+    private static final SerializedString ROLE = new SerializedString("role");
+    private static final Map<String, SerializedString> ROLES = new HashMap<>();
+
+    static {
+        for (User.Role role : User.Role.values()) {
+            String name = role.name().substring("ROLE_".length());
+            ROLES.put(name, new SerializedString(name));
+        }
+    }
+
+    public UserResponseDtoSerializer() {
+        super(UserResponseDto.class);
+    }
+
+    @Override
+    public void serialize(UserResponseDto user, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(user, 3);
+        generator.writeFieldName(ID);
+        if (user.getId() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(user.getId());
+        }
+        generator.writeFieldName(USERNAME);
+        generator.writeString(user.getUsername());
+        generator.writeFieldName(ROLE);
+        SerializableString role = user.getRole() == null ? null : ROLES.get(user.getRole());
+        if (role != null) {
+            generator.writeString(role);
+        } else {
+            generator.writeString(user.getRole());
+        }
+        generator.writeEndObject();
+    }
+}
@@ -1,26 +1,39 @@
 package park_api.web.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import park_api.exception.UsernameUniqueViolationException;
+import park_api.exception.ConcurrentUpdateException;
 import park_api.exception.EntityNotFoundException;
 import park_api.exception.PasswordInvalidException;
+import park_api.exception.ServiceUnavailableException;
+import park_api.exception.TooManyIdsException;
+import park_api.web.metrics.ApiMetrics;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
 
-@Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class ApiExceptionHandler {
 
+    private final ApiMetrics apiMetrics;
+    private final ClientErrorLog clientErrorLog;
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorMessage> methodArgumentNotValidException(MethodArgumentNotValidException ex,
             HttpServletRequest request, BindingResult result) {
-        log.error("Api Error -", ex);
+        clientErrorLog.log(ex, request, "campos invalidos " + result.getFieldErrors().stream()
+                .map(FieldError::getField)
+                .distinct()
+                .toList());
+        apiMetrics.countError(ex, HttpStatus.UNPROCESSABLE_ENTITY);
         return ResponseEntity
                 .status(HttpStatus.UNPROCESSABLE_ENTITY)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -28,11 +41,34 @@ public class ApiExceptionHandler {
     }
 
     
+    @ExceptionHandler(TooManyIdsException.class)
+    public ResponseEntity<ErrorMessage> tooManyIdsException(TooManyIdsException ex, HttpServletRequest request) {
+        clientErrorLog.log(ex, request);
+        apiMetrics.countError(ex, HttpStatus.UNPROCESSABLE_ENTITY);
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage()));
+    }
+
     @ExceptionHandler(UsernameUniqueViolationException.class)
     public ResponseEntity<ErrorMessage> usernameUniqueViolationException(
             UsernameUniqueViolationException ex,
             HttpServletRequest request) {
-        log.error("Api Error - ", ex);
+        clientErrorLog.log(ex, request);
+        apiMetrics.countError(ex, HttpStatus.CONFLICT);
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorMessage(request, HttpStatus.CONFLICT, ex.getMessage()));
+    }
+
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<ErrorMessage> concurrentUpdateException(
+            ConcurrentUpdateException ex,
+            HttpServletRequest request) {
+        clientErrorLog.log(ex, request);
+        apiMetrics.countError(ex, HttpStatus.CONFLICT);
         return ResponseEntity
                 .status(HttpStatus.CONFLICT)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -43,7 +79,8 @@ public class ApiExceptionHandler {
     public ResponseEntity<ErrorMessage> passwordInvalidException(
             PasswordInvalidException ex,
                     HttpServletRequest request) {
-            log.error("Api Error - ", ex);
+            clientErrorLog.log(ex, request);
+            apiMetrics.countError(ex, HttpStatus.BAD_REQUEST);
             return ResponseEntity
                             .status(HttpStatus.BAD_REQUEST)
                             .contentType(MediaType.APPLICATION_JSON)
@@ -54,10 +91,24 @@ public class ApiExceptionHandler {
     public ResponseEntity<ErrorMessage> entityNotFoundException(
                     EntityNotFoundException ex,
                     HttpServletRequest request) {
-            log.error("Api Error - ", ex);
+            clientErrorLog.log(ex, request);
+            apiMetrics.countError(ex, HttpStatus.NOT_FOUND);
             return ResponseEntity
                             .status(HttpStatus.NOT_FOUND)
                             .contentType(MediaType.APPLICATION_JSON)
                             .body(new ErrorMessage(request, HttpStatus.NOT_FOUND, ex.getMessage()));
     }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorMessage> serviceUnavailableException(
+                    ServiceUnavailableException ex,
+                    HttpServletRequest request) {
+            clientErrorLog.log(ex, request);
+            apiMetrics.countError(ex, HttpStatus.SERVICE_UNAVAILABLE);
+            return ResponseEntity
+                            .status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, "1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(new ErrorMessage(request, HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
 }
@@ -0,0 +1,63 @@
+package park_api.web.exception;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs expected client errors without stack traces, at most {@code permitsPerSecond} lines per
+ * exception type each second. Lines dropped in a window are reported as a count on the next line
+ * that gets through, so a burst is still visible in the log without costing one line per request.
+ */
+@Slf4j
+@Component
+public class ClientErrorLog {
+
+    private final int permitsPerSecond;
+    private final Map<Class<?>, Window> windows = new ConcurrentHashMap<>();
+
+    public ClientErrorLog(@Value("${park-api.errors.log-permits-per-second:10}") int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public void log(Exception ex, HttpServletRequest request) {
+        log(ex, request, ex.getMessage());
+    }
+
+    public void log(Exception ex, HttpServletRequest request, String detail) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+        Window window = windows.computeIfAbsent(ex.getClass(), type -> new Window());
+        long second = System.currentTimeMillis() / 1000;
+        long current = window.second.get();
+        if (current != second && window.second.compareAndSet(current, second)) {
+            window.logged.set(0);
+        }
+        if (window.logged.incrementAndGet() > permitsPerSecond) {
+            window.suppressed.incrementAndGet();
+            return;
+        }
+        long suppressed = window.suppressed.getAndSet(0);
+        if (suppressed > 0) {
+            log.warn("Api Error - {} {} {}: {} ({} similar suppressed)", request.getMethod(), request.getRequestURI(),
+                    ex.getClass().getSimpleName(), detail, suppressed);
+        } else {
+            log.warn("Api Error - {} {} {}: {}", request.getMethod(), request.getRequestURI(),
+                    ex.getClass().getSimpleName(), detail);
+        }
+    }
+
+    private static final class Window {
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicInteger logged = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+    }
+}
@@ -0,0 +1,216 @@
+package park_api.web.filter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import park_api.config.AdmissionProperties;
+import park_api.web.exception.ErrorMessage;
+
+/**
+ * Admission control for the API, in two steps per request:
+ * <ol>
+ * <li>a per-client rate limit (GCRA, the arithmetic form of a token bucket): one {@link AtomicLong}
+ * per client and tier holds the theoretical arrival time and is advanced with CAS, so clients never
+ * contend with each other; over the limit the answer is 429 with the time until the next permit;</li>
+ * <li>a concurrency limit per tier: a request that cannot start within {@code max-queue-delay} is shed
+ * with 503 instead of joining a queue whose wait would already exceed what the client tolerates.</li>
+ * </ol>
+ * Expensive endpoints (lists, exports, writes) and cheap ones (lookups) have separate limits.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String clientHeader;
+    private final int trustedProxies;
+    private final List<Endpoint> expensiveEndpoints;
+    private final TierLimiter cheap;
+    private final TierLimiter expensive;
+    private final Cache<String, AtomicLong> arrivals;
+
+    public AdmissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.clientHeader = properties.getClientHeader();
+        this.trustedProxies = Math.max(1, properties.getTrustedProxies());
+        this.expensiveEndpoints = properties.getExpensiveEndpoints().stream().map(Endpoint::parse).toList();
+        this.cheap = new TierLimiter("cheap", properties.getCheap());
+        this.expensive = new TierLimiter("expensive", properties.getExpensive());
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        TierLimiter tier = isExpensive(request) ? expensive : cheap;
+
+        long waitNanos = tier.reserve(arrivals.get(tier.name + ':' + clientOf(request), key -> new AtomicLong()));
+        if (waitNanos > 0) {
+            reject(request, response, tier, HttpStatus.TOO_MANY_REQUESTS, waitNanos,
+                    "Limite de requisições excedido, tente novamente em instantes");
+            return;
+        }
+
+        if (!tier.acquire()) {
+            reject(request, response, tier, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                    "Serviço sobrecarregado, tente novamente em instantes");
+            return;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                tier.release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private boolean isExpensive(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (Endpoint endpoint : expensiveEndpoints) {
+            if (endpoint.matches(request.getMethod(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        if (clientHeader != null) {
+            String client = request.getHeader(clientHeader);
+            if (client != null && !client.isBlank()) {
+                // Taken from the right: each proxy appends the address it saw, and anything further
+                // left was sent by the client, which could otherwise pick a new bucket per request.
+                String[] entries = client.split(",");
+                return entries[Math.max(0, entries.length - trustedProxies)].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, TierLimiter tier, HttpStatus status,
+            long retryAfterNanos, String message) throws IOException {
+        meterRegistry.counter("park.api.admission.rejected", "tier", tier.name, "status", String.valueOf(status.value()))
+                .increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfterNanos + 999_999_999) / 1_000_000_000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorMessage(request, status, message));
+    }
+
+    private record Endpoint(HttpMethod method, PathPattern pattern) {
+
+        static Endpoint parse(String value) {
+            String[] parts = value.trim().split("\\s+", 2);
+            return new Endpoint(HttpMethod.valueOf(parts[0]), PathPatternParser.defaultInstance.parse(parts[1]));
+        }
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return method.matches(requestMethod) && pattern.matches(path);
+        }
+    }
+
+    private static final class TierLimiter {
+
+        private final String name;
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final Semaphore slots;
+        private final long maxQueueDelayNanos;
+
+        TierLimiter(String name, AdmissionProperties.Tier tier) {
+            this.name = name;
+            this.emissionIntervalNanos = (long) (1_000_000_000 / tier.getRate());
+            this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, tier.getBurst() - 1);
+            this.slots = new Semaphore(tier.getMaxConcurrent());
+            this.maxQueueDelayNanos = tier.getMaxQueueDelay().toNanos();
+        }
+
+        /** Returns 0 if the request conforms, otherwise how long the client should wait. */
+        long reserve(AtomicLong theoreticalArrival) {
+            long now = System.nanoTime();
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long start = tat == 0 || tat - now < 0 ? now : tat;
+                long waitNanos = start - now - burstToleranceNanos;
+                if (waitNanos > 0) {
+                    return waitNanos;
+                }
+                if (theoreticalArrival.compareAndSet(tat, start + emissionIntervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+
+        boolean acquire() {
+            try {
+                return slots.tryAcquire(maxQueueDelayNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        void release() {
+            slots.release();
+        }
+    }
+
+    private record ReleaseOnComplete(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
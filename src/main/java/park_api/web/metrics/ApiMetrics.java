@@ -0,0 +1,53 @@
+package park_api.web.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Request-path meters that Spring Boot does not record on its own. Percentiles are kept
+ * client-side in lock-free HdrHistogram recorders, so recording never blocks a request thread.
+ */
+@Component
+public class ApiMetrics {
+
+    private static final double[] PERCENTILES = { 0.5, 0.99, 0.999 };
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> mappingTimers = new ConcurrentHashMap<>();
+
+    public ApiMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T timeMapping(String operation, Supplier<T> mapping) {
+        return mappingTimers.computeIfAbsent(operation, name -> Timer.builder("park.users.mapping")
+                .description("Time spent mapping entities to response DTOs")
+                .tag("operation", name)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry))
+                .record(mapping);
+    }
+
+    /** Times the response bodies written in {@code format} (json, cbor). */
+    public Timer serializationTimer(String format) {
+        return Timer.builder("park.http.serialization")
+                .description("Time spent writing response bodies with Jackson")
+                .tag("format", format)
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    public void countError(Exception ex, HttpStatus status) {
+        meterRegistry.counter("park.api.errors",
+                "exception", ex.getClass().getSimpleName(),
+                "status", String.valueOf(status.value()))
+                .increment();
+    }
+}
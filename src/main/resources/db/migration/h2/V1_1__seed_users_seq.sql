@@ -0,0 +1,5 @@
+-- Databases baselined at V1 may already hold users with IDENTITY ids. The pooled optimizer hands
+-- out (value - 49)..value, so the sequence restarts at max(id) + 50.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id) + 50, 1) FROM users);
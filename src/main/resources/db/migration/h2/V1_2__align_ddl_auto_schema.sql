@@ -0,0 +1,22 @@
+-- Brings a schema created by ddl-auto (baselined at V1 without running it) to the shape V1 creates.
+-- Every statement is a no-op on a database V1 created. The hashed name ddl-auto gives the username
+-- unique constraint is kept: H2 has no dynamic SQL to look it up, and nothing depends on the name.
+
+-- Before users_seq, ddl-auto created users.id as an identity; ids now come only from the sequence.
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+
+-- Versions before the audit trail never created its tables.
+CREATE TABLE IF NOT EXISTS user_audit_events (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    username VARCHAR(100) NOT NULL,
+    type ENUM('CREATED', 'PASSWORD_CHANGED') NOT NULL,
+    actor VARCHAR(100),
+    occurred_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS user_audit_events_seq START WITH 1 INCREMENT BY 50;
+
+-- Same as users_seq in V1_1: the first pooled block must start after the existing rows.
+ALTER SEQUENCE user_audit_events_seq RESTART WITH (SELECT COALESCE(MAX(id) + 50, 1) FROM user_audit_events);
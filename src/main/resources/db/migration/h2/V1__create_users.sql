@@ -0,0 +1,26 @@
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL,
+    username VARCHAR(100) NOT NULL,
+    password VARCHAR(200) NOT NULL,
+    role ENUM('ROLE_ADMIN', 'ROLE_CUSTOMER') NOT NULL,
+    created_at TIMESTAMP(6),
+    modified_at TIMESTAMP(6),
+    created_by VARCHAR(255),
+    modified_by VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE SEQUENCE user_audit_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE user_audit_events (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    username VARCHAR(100) NOT NULL,
+    type ENUM('CREATED', 'PASSWORD_CHANGED') NOT NULL,
+    actor VARCHAR(100),
+    occurred_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
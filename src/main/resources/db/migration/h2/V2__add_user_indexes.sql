@@ -0,0 +1,5 @@
+CREATE INDEX idx_users_role ON users (role);
+
+CREATE INDEX idx_users_created_at ON users (created_at);
+
+CREATE INDEX idx_user_audit_events_user_id ON user_audit_events (user_id, id);
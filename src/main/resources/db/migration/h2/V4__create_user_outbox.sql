@@ -0,0 +1,9 @@
+CREATE TABLE user_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    user_id BIGINT NOT NULL,
+    user_version BIGINT NOT NULL,
+    type ENUM('CREATED', 'PASSWORD_CHANGED') NOT NULL,
+    payload VARCHAR(2000) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
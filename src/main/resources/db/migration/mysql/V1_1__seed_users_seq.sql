@@ -0,0 +1,10 @@
+-- Databases baselined at V1 were created by ddl-auto and may already hold users with IDENTITY ids,
+-- with users_seq missing or still at 1. The pooled optimizer hands out (next_val - 49)..next_val,
+-- so next_val must be at least max(id) + 50 for the first block to start after the existing rows.
+CREATE TABLE IF NOT EXISTS users_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO users_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM users_seq);
+
+UPDATE users_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id) + 50, 1) FROM users));
@@ -0,0 +1,37 @@
+-- Brings a schema created by ddl-auto (baselined at V1 without running it) to the shape V1 creates.
+-- Every statement is a no-op on a database V1 created.
+
+-- Before users_seq, ddl-auto created users.id as AUTO_INCREMENT; ids now come only from the sequence.
+ALTER TABLE users MODIFY id BIGINT NOT NULL;
+
+-- ddl-auto names the username unique key after a hash (UK...); V1 calls it uk_users_username.
+SET @legacy_key = (
+    SELECT index_name FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'users' AND column_name = 'username'
+      AND non_unique = 0 AND index_name <> 'uk_users_username'
+    LIMIT 1);
+SET @rename_key = IF(@legacy_key IS NULL, 'DO 0',
+    CONCAT('ALTER TABLE users RENAME INDEX `', @legacy_key, '` TO uk_users_username'));
+PREPARE rename_key FROM @rename_key;
+EXECUTE rename_key;
+DEALLOCATE PREPARE rename_key;
+
+-- Versions before the audit trail never created its tables.
+CREATE TABLE IF NOT EXISTS user_audit_events (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    username VARCHAR(100) NOT NULL,
+    type ENUM('CREATED', 'PASSWORD_CHANGED') NOT NULL,
+    actor VARCHAR(100),
+    occurred_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_audit_events_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO user_audit_events_seq (next_val) SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT * FROM user_audit_events_seq);
+
+-- Same as users_seq in V1_1: the first pooled block must start after the existing rows.
+UPDATE user_audit_events_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id) + 50, 1) FROM user_audit_events));
@@ -0,0 +1,34 @@
+CREATE TABLE users (
+    id BIGINT NOT NULL,
+    username VARCHAR(100) NOT NULL,
+    password VARCHAR(200) NOT NULL,
+    role ENUM('ROLE_ADMIN', 'ROLE_CUSTOMER') NOT NULL,
+    created_at DATETIME(6),
+    modified_at DATETIME(6),
+    created_by VARCHAR(255),
+    modified_by VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE users_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO users_seq VALUES (1);
+
+CREATE TABLE user_audit_events (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    username VARCHAR(100) NOT NULL,
+    type ENUM('CREATED', 'PASSWORD_CHANGED') NOT NULL,
+    actor VARCHAR(100),
+    occurred_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_audit_events_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO user_audit_events_seq VALUES (1);
@@ -0,0 +1,5 @@
+CREATE TABLE user_id_blocks (
+    next_hi BIGINT NOT NULL
+) ENGINE = InnoDB;
+
+INSERT INTO user_id_blocks VALUES (1);
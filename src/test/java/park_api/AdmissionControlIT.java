@@ -0,0 +1,78 @@
+package park_api;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import park_api.web.exception.ErrorMessage;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "park-api.admission.enabled=true",
+        "park-api.admission.client-header=X-Client-Id",
+        "park-api.admission.expensive.rate=0.1",
+        "park-api.admission.expensive.burst=2",
+        "park-api.admission.cheap.max-concurrent=0",
+        "park-api.admission.cheap.max-queue-delay=10ms",
+        "park-api.audit.spill-file=target/audit/admission-spill.ndjson"
+})
+@Sql(scripts = "/sql/users/users-insert.sql", executionPhase = ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "/sql/users/users-delete.sql", executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+public class AdmissionControlIT {
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Test
+    public void getAll_AboveClientRate_ReturnErrorMessageWithStatus429AndRetryAfter() {
+        for (int i = 0; i < 2; i++) {
+            testClient.get().uri("/api/v1/users").header("X-Client-Id", "gate-1").exchange().expectStatus().isOk();
+        }
+
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/users")
+                .header("X-Client-Id", "gate-1")
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getStatus()).isEqualTo(429);
+        Assertions.assertThat(responseBody.getPath()).isEqualTo("/api/v1/users");
+
+        testClient.get().uri("/api/v1/users").header("X-Client-Id", "gate-2").exchange().expectStatus().isOk();
+    }
+
+    @Test
+    public void getAll_WithClientSpoofingLeftmostHeaderEntries_IsLimitedByTheEntryTheProxyAdded() {
+        for (int i = 0; i < 2; i++) {
+            testClient.get().uri("/api/v1/users").header("X-Client-Id", "spoofed-" + i + ", gate-4")
+                    .exchange().expectStatus().isOk();
+        }
+
+        testClient
+                .get()
+                .uri("/api/v1/users")
+                .header("X-Client-Id", "spoofed-2, gate-4")
+                .exchange()
+                .expectStatus().isEqualTo(429);
+    }
+
+    @Test
+    public void getUser_WithNoFreeSlotWithinQueueDelay_ReturnStatus503AndRetryAfter() {
+        testClient
+                .get()
+                .uri("/api/v1/users/100")
+                .header("X-Client-Id", "gate-3")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1");
+    }
+}
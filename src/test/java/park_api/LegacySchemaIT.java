@@ -0,0 +1,75 @@
+package park_api;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import park_api.web.dto.UserCreateDto;
+import park_api.web.dto.UserResponseDto;
+
+/**
+ * Starts the application against a database that ddl-auto created before Flyway, as a deployed
+ * MySQL would be on the first release with migrations: baselined at V1, then V1_1 onwards.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1",
+        "park-api.outbox.file=target/outbox/legacy-events.ndjson",
+        "park-api.audit.spill-file=target/audit/legacy-spill.ndjson"
+})
+public class LegacySchemaIT {
+
+    private static final String LEGACY_URL = "jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) {
+        new JdbcTemplate(new DriverManagerDataSource(LEGACY_URL, "sa", ""))
+                .execute("runscript from 'classpath:sql/legacy/ddl-auto-schema.sql'");
+        registry.add("spring.datasource.url", () -> LEGACY_URL);
+        registry.add("spring.datasource.username", () -> "sa");
+    }
+
+    @Test
+    public void migrate_FromDdlAutoSchema_AppliesEveryVersionAfterTheBaseline() {
+        Assertions.assertThat(jdbcTemplate.queryForList(
+                        "select \"version\" from \"flyway_schema_history\" where \"version\" is not null order by \"installed_rank\"", String.class))
+                .containsExactly("1", "1.1", "1.2", "2", "3", "4", "5");
+    }
+
+    @Test
+    public void createUser_OnDdlAutoSchema_ReturnStatus201WithIdPastTheExistingUsers() {
+        UserResponseDto created = testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("novo@email.com", "123456"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(created).isNotNull();
+        Assertions.assertThat(created.getId()).isGreaterThan(3L);
+
+        testClient
+                .get()
+                .uri("/api/v1/users/{id}", 2)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserResponseDto.class)
+                .value(user -> Assertions.assertThat(user.getUsername()).isEqualTo("legacy2@email.com"));
+    }
+}
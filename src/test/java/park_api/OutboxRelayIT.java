@@ -0,0 +1,100 @@
+package park_api;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import park_api.entity.UserAuditEvent;
+import park_api.repository.UserOutboxRepository;
+import park_api.repository.projection.OutboxMessage;
+import park_api.service.UserShards;
+import park_api.service.outbox.OutboxRelay;
+import park_api.service.outbox.OutboxSink;
+
+/** Runs two relays side by side, as two instances would, with the scheduled one switched off. */
+@SpringBootTest(properties = {
+        "park-api.outbox.relay.enabled=false",
+        "park-api.audit.spill-file=target/audit/relay-spill.ndjson"
+})
+public class OutboxRelayIT {
+
+    @Autowired
+    UserOutboxRepository outboxRepository;
+
+    @Autowired
+    UserShards userShards;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void deleteOutbox() {
+        jdbcTemplate.update("delete from user_outbox");
+    }
+
+    @Test
+    public void relay_OnTwoInstances_PublishesEachMessageOnceAndInOrder() throws Exception {
+        outboxRepository.append(messages(1, 3));
+        List<Long> firstPublished = new CopyOnWriteArrayList<>();
+        List<Long> secondPublished = new CopyOnWriteArrayList<>();
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OutboxRelay first = relay(messages -> {
+            messages.forEach(message -> firstPublished.add(message.userId()));
+            publishing.countDown();
+            release.await();
+        });
+        OutboxRelay second = relay(messages -> messages.forEach(message -> secondPublished.add(message.userId())));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> firstRun = executor.submit(first::relay);
+            Assertions.assertThat(publishing.await(5, TimeUnit.SECONDS)).isTrue();
+            outboxRepository.append(messages(4, 4));
+
+            Future<?> secondRun = executor.submit(second::relay);
+            Thread.sleep(200);
+            Assertions.assertThat(secondPublished).as("waits for the batch in flight").isEmpty();
+
+            release.countDown();
+            firstRun.get(5, TimeUnit.SECONDS);
+            secondRun.get(5, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        Assertions.assertThat(firstPublished).containsExactly(1L, 2L, 3L);
+        Assertions.assertThat(secondPublished).containsExactly(4L);
+        Assertions.assertThat(jdbcTemplate.queryForObject("select count(*) from user_outbox", Integer.class)).isZero();
+    }
+
+    private OutboxRelay relay(OutboxSink sink) {
+        return new OutboxRelay(outboxRepository, userShards, sink, new SimpleMeterRegistry(), transactionManager, 500);
+    }
+
+    private static List<OutboxMessage> messages(long firstUserId, long lastUserId) {
+        return LongStream.rangeClosed(firstUserId, lastUserId)
+                .mapToObj(userId -> new OutboxMessage(null, userId, 0L, UserAuditEvent.Type.CREATED, "{}", LocalDateTime.now()))
+                .toList();
+    }
+}
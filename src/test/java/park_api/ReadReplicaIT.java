@@ -0,0 +1,176 @@
+package park_api;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import park_api.config.CacheConfig;
+import park_api.config.ReadYourWrites;
+import park_api.service.PasswordHasher;
+import park_api.web.dto.UserCreateDto;
+import park_api.web.dto.UserPasswordDto;
+import park_api.web.dto.UserResponseDto;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "park-api.datasource.replicas[0].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:sql/replica/replica-schema.sql'",
+        "park-api.datasource.replicas[0].username=sa",
+        "park-api.datasource.replicas[1].url=jdbc:h2:tcp://localhost:1/unavailable",
+        "park-api.datasource.replicas[1].username=sa",
+        "park-api.datasource.read-your-writes-window=2s",
+        "park-api.audit.spill-file=target/audit/replica-spill.ndjson"
+})
+public class ReadReplicaIT {
+
+    private static final JdbcTemplate REPLICA = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:replica", "sa", ""));
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    PasswordHasher passwordHasher;
+
+    @Test
+    public void getAll_ReadOnlyTransaction_IsServedByAvailableReplica() {
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                Assertions.assertThat(getAllUsernames()).containsExactly("replica@email.com"));
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertThat(getAllUsernames()).containsExactly("replica@email.com");
+        }
+        Assertions.assertThat(meterRegistry.counter("park.datasource.replica.fallback").count()).isZero();
+    }
+
+    @Test
+    public void createUser_ThenGetAll_ReadsOwnWriteFromPrimaryUntilWindowExpires() {
+        ResponseCookie primaryUntil = createUser("primary@email.com");
+
+        Assertions.assertThat(getAllUsernames(primaryUntil)).contains("primary@email.com").doesNotContain("replica@email.com");
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                Assertions.assertThat(getAllUsernames(primaryUntil)).containsExactly("replica@email.com"));
+    }
+
+    @Test
+    public void createUser_ByOneClient_DoesNotPinOtherClientsToPrimary() {
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                Assertions.assertThat(getAllUsernames()).containsExactly("replica@email.com"));
+
+        ResponseCookie primaryUntil = createUser("writer@email.com");
+
+        Assertions.assertThat(getAllUsernames()).containsExactly("replica@email.com");
+        Assertions.assertThat(getAllUsernames(primaryUntil)).contains("writer@email.com");
+    }
+
+    @Test
+    public void updatePassword_ThenGetByOtherClient_DoesNotCacheReplicaStateForTheWriter() {
+        String password = passwordHasher.hash("123456");
+        String insert = "insert into users (id, username, password, role) values (901, 'lagging@email.com', ?, 'ROLE_CUSTOMER')";
+        REPLICA.update(insert, password);
+        jdbcTemplate.update(insert, password);
+        try {
+            ResponseCookie primaryUntil = testClient
+                    .patch()
+                    .uri("/api/v1/users/901")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new UserPasswordDto("123456", "654321", "654321"))
+                    .exchange()
+                    .expectStatus().isNoContent()
+                    .returnResult(Void.class)
+                    .getResponseCookies().getFirst(ReadYourWrites.COOKIE);
+
+            String replicaETag = getETag(901, null);
+            Assertions.assertThat(cacheManager.getCache(CacheConfig.USERS_CACHE).get(901L)).isNull();
+
+            Assertions.assertThat(getETag(901, primaryUntil)).isNotEqualTo(replicaETag);
+        } finally {
+            REPLICA.update("delete from users where id = 901");
+            jdbcTemplate.update("delete from users where id = 901");
+        }
+    }
+
+    @Test
+    public void getAll_WithForgedPrimaryCookie_IsServedByReplica() {
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                Assertions.assertThat(getAllUsernames()).containsExactly("replica@email.com"));
+
+        ResponseCookie issued = createUser("forger@email.com");
+        String signature = issued.getValue().substring(issued.getValue().indexOf('.'));
+
+        Assertions.assertThat(getAllUsernames(ResponseCookie.from(ReadYourWrites.COOKIE, "9999999999999").build()))
+                .containsExactly("replica@email.com");
+        Assertions.assertThat(getAllUsernames(ResponseCookie.from(ReadYourWrites.COOKIE, "9999999999999" + signature).build()))
+                .containsExactly("replica@email.com");
+    }
+
+    private String getETag(long id, ResponseCookie primaryUntil) {
+        return testClient
+                .get()
+                .uri("/api/v1/users/{id}", id)
+                .cookies(cookies -> {
+                    if (primaryUntil != null) {
+                        cookies.add(primaryUntil.getName(), primaryUntil.getValue());
+                    }
+                })
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(UserResponseDto.class)
+                .getResponseHeaders().getETag();
+    }
+
+    private ResponseCookie createUser(String username) {
+        return testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto(username, "123456"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectCookie().exists(ReadYourWrites.COOKIE)
+                .returnResult(UserResponseDto.class)
+                .getResponseCookies().getFirst(ReadYourWrites.COOKIE);
+    }
+
+    private List<String> getAllUsernames() {
+        return getAllUsernames(null);
+    }
+
+    private List<String> getAllUsernames(ResponseCookie primaryUntil) {
+        return testClient
+                .get()
+                .uri("/api/v1/users")
+                .cookies(cookies -> {
+                    if (primaryUntil != null) {
+                        cookies.add(primaryUntil.getName(), primaryUntil.getValue());
+                    }
+                })
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserResponseDto.class)
+                .returnResult().getResponseBody()
+                .stream()
+                .map(UserResponseDto::getUsername)
+                .toList();
+    }
+}
@@ -0,0 +1,289 @@
+package park_api;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import park_api.config.ShardingProperties;
+import park_api.exception.ServiceUnavailableException;
+import park_api.service.UserShards;
+import park_api.service.UsernameIndex;
+import park_api.web.dto.UserBulkResponseDto;
+import park_api.web.dto.UserCreateDto;
+import park_api.web.dto.UserPasswordDto;
+import park_api.web.dto.UserResponseDto;
+import park_api.web.exception.ErrorMessage;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "park-api.sharding.shards[0].url=" + ShardingIT.SHARD_URL + "0;DB_CLOSE_DELAY=-1",
+        "park-api.sharding.shards[0].username=sa",
+        "park-api.sharding.shards[1].url=" + ShardingIT.SHARD_URL + "1;DB_CLOSE_DELAY=-1",
+        "park-api.sharding.shards[1].username=sa",
+        "park-api.sharding.shards[2].url=" + ShardingIT.SHARD_URL + "2;DB_CLOSE_DELAY=-1",
+        "park-api.sharding.shards[2].username=sa",
+        "park-api.sharding.id-block-size=5",
+        "park-api.sharding.legacy-id-limit=1000",
+        "park-api.outbox.file=target/outbox/sharding-events.ndjson",
+        "park-api.audit.spill-file=target/audit/sharding-spill.ndjson"
+})
+public class ShardingIT {
+
+    static final String SHARD_URL = "jdbc:h2:mem:users_shard";
+
+    private static final List<JdbcTemplate> SHARDS = IntStream.range(0, 3)
+            .mapToObj(shard -> new JdbcTemplate(new DriverManagerDataSource(SHARD_URL + shard, "sa", "")))
+            .toList();
+
+    @Autowired
+    WebTestClient testClient;
+
+    @Autowired
+    UserShards userShards;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    UsernameIndex usernameIndex;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void deleteUsers() {
+        SHARDS.forEach(shard -> shard.execute("delete from user_outbox; delete from users"));
+    }
+
+    @Test
+    public void createAll_SpreadsUsersOverShardsByUsername_WithShardEncodedInId() {
+        List<UserCreateDto> users = IntStream.range(0, 12)
+                .mapToObj(i -> new UserCreateDto("sharded" + i + "@email.com", "123456"))
+                .toList();
+        UserBulkResponseDto responseBody = createAll(users);
+        Assertions.assertThat(responseBody.getCreated()).isEqualTo(12);
+
+        int used = 0;
+        for (int shard = 0; shard < SHARDS.size(); shard++) {
+            List<Map<String, Object>> rows = SHARDS.get(shard).queryForList("select id, username from users");
+            for (Map<String, Object> row : rows) {
+                Assertions.assertThat(userShards.shardOf((String) row.get("USERNAME"))).isEqualTo(shard);
+                Assertions.assertThat(userShards.shardOf((Long) row.get("ID"))).isEqualTo(shard);
+                Assertions.assertThat((Long) row.get("ID")).isGreaterThanOrEqualTo(1000L);
+            }
+            used += rows.isEmpty() ? 0 : 1;
+        }
+        Assertions.assertThat(used).isGreaterThan(1);
+    }
+
+    @Test
+    public void getAll_WithCursor_MergesShardsInIdOrder() {
+        createAll(IntStream.range(0, 11)
+                .mapToObj(i -> new UserCreateDto("page" + i + "@email.com", "123456"))
+                .toList());
+
+        List<Long> ids = new ArrayList<>();
+        Long after = 0L;
+        List<UserResponseDto> page;
+        do {
+            page = testClient
+                    .get()
+                    .uri("/api/v1/users?after={after}&limit=4", after)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(UserResponseDto.class)
+                    .returnResult().getResponseBody();
+            page.forEach(user -> ids.add(user.getId()));
+            after = page.isEmpty() ? after : page.get(page.size() - 1).getId();
+        } while (page.size() == 4);
+
+        Assertions.assertThat(ids).hasSize(11).isSorted().doesNotHaveDuplicates();
+
+        List<String> exported = testClient
+                .get()
+                .uri("/api/v1/users/stream")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserResponseDto.class)
+                .returnResult().getResponseBody()
+                .stream()
+                .map(UserResponseDto::getUsername)
+                .toList();
+        Assertions.assertThat(exported).hasSize(11);
+    }
+
+    @Test
+    public void createUser_WithUsernameAlreadyOnItsShard_ReturnStatus409() {
+        create("unique@email.com");
+
+        ErrorMessage responseBody = testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("unique@email.com", "654321"))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getStatus()).isEqualTo(409);
+        int shard = userShards.shardOf("unique@email.com");
+        Assertions.assertThat(SHARDS.get(shard).queryForObject("select count(*) from users", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    public void getByIdAndUpdatePassword_RouteToTheShardOfTheId() {
+        List<UserResponseDto> created = IntStream.range(0, 4).mapToObj(i -> create("route" + i + "@email.com")).toList();
+
+        for (UserResponseDto user : created) {
+            testClient
+                    .get()
+                    .uri("/api/v1/users/{id}", user.getId())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(UserResponseDto.class)
+                    .value(found -> Assertions.assertThat(found.getUsername()).isEqualTo(user.getUsername()));
+        }
+
+        UserResponseDto changed = created.get(2);
+        testClient
+                .patch()
+                .uri("/api/v1/users/{id}", changed.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("123456", "101010", "101010"))
+                .exchange()
+                .expectStatus().isNoContent();
+        Assertions.assertThat(SHARDS.get(userShards.shardOf(changed.getId()))
+                .queryForObject("select version from users where id = ?", Long.class, changed.getId())).isEqualTo(1L);
+
+        List<Long> ids = List.of(created.get(3).getId(), created.get(0).getId(), created.get(1).getId());
+        testClient
+                .get()
+                .uri("/api/v1/users?ids={ids}", ids.get(0) + "," + ids.get(1) + "," + ids.get(2))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserResponseDto.class)
+                .value(users -> Assertions.assertThat(users).extracting(UserResponseDto::getId).isEqualTo(ids));
+    }
+
+    @Test
+    public void getById_WithLegacyId_ReadsItFromShardZero() {
+        // 65 % 64 would be shard 1, but ids below legacy-id-limit were issued before sharding.
+        SHARDS.get(0).update("insert into users (id, username, password, role) values (65, 'legacy@email.com', '123456', 'ROLE_CUSTOMER')");
+
+        testClient
+                .get()
+                .uri("/api/v1/users/{id}", 65)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserResponseDto.class)
+                .value(user -> Assertions.assertThat(user.getUsername()).isEqualTo("legacy@email.com"));
+    }
+
+    @Test
+    public void createUser_WithUsernameOfLegacyUserHashingToAnotherShard_ReturnStatus409() {
+        Assertions.assertThat(userShards.shardOf("legacy@email.com")).isNotZero();
+        SHARDS.get(0).update("insert into users (id, username, password, role) values (66, 'legacy@email.com', '123456', 'ROLE_CUSTOMER')");
+        // Inserted behind the application's back, so added to the index as the warm-up would have.
+        usernameIndex.add("legacy@email.com");
+
+        testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("legacy@email.com", "123456"))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+
+        UserBulkResponseDto responseBody = createAll(List.of(new UserCreateDto("legacy@email.com", "123456")));
+        Assertions.assertThat(responseBody.getCreated()).isZero();
+        Assertions.assertThat(responseBody.getErrors()).hasSize(1);
+        Assertions.assertThat(SHARDS.get(userShards.shardOf("legacy@email.com"))
+                .queryForObject("select count(*) from users", Integer.class)).isZero();
+    }
+
+    @Test
+    public void getByIdAndUpdatePassword_WithIdOfShardNotConfigured_ReturnStatus404() {
+        long id = 100L * UserShards.MAX_SHARDS + 10;
+        SHARDS.get(0).update("insert into users (id, username, password, role) values (?, 'stray@email.com', '123456', 'ROLE_CUSTOMER')", id);
+
+        testClient
+                .get()
+                .uri("/api/v1/users/{id}", id)
+                .exchange()
+                .expectStatus().isNotFound();
+        testClient
+                .patch()
+                .uri("/api/v1/users/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("123456", "101010", "101010"))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void readEach_WithShardPastTheTimeout_CancelsTheWorkStillRunning() throws Exception {
+        ShardingProperties properties = new ShardingProperties();
+        IntStream.range(0, 3).forEach(shard -> properties.getShards().add(new ShardingProperties.Shard()));
+        properties.setTimeout(Duration.ofMillis(200));
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("shardingProperties", properties));
+        UserShards shards = new UserShards(beans.getBeanProvider(ShardingProperties.class), jdbcTemplate, transactionManager);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            Assertions.assertThatThrownBy(() -> shards.readEach(() -> {
+                if (UserShards.currentShard() == 1) {
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                }
+                return 0;
+            })).isInstanceOf(ServiceUnavailableException.class);
+
+            Assertions.assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            shards.destroy();
+        }
+    }
+
+    private UserResponseDto create(String username) {
+        return testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto(username, "123456"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserResponseDto.class)
+                .returnResult().getResponseBody();
+    }
+
+    private UserBulkResponseDto createAll(List<UserCreateDto> users) {
+        return testClient
+                .post()
+                .uri("/api/v1/users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(users)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserBulkResponseDto.class)
+                .returnResult().getResponseBody();
+    }
+}
@@ -1,16 +1,67 @@
 package park_api;
 
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
 
 import org.assertj.core.api.Assertions;
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import park_api.config.CacheConfig;
+import park_api.config.JpaAuditingConfig;
+import park_api.config.ReadYourWrites;
+import park_api.entity.UserAuditEvent;
+import park_api.repository.UserAuditEventRepository;
+import park_api.repository.UserRepository;
+import park_api.repository.projection.UserSummary;
+import park_api.repository.sql.SqlStatisticsEndpoint;
+import park_api.service.PasswordHasher;
+import park_api.service.UserShards;
+import park_api.service.UserSummaryLoader;
+import park_api.web.dto.UserBulkErrorDto;
+import park_api.web.dto.UserBulkResponseDto;
 import park_api.web.dto.UserCreateDto;
 import park_api.web.dto.UserPasswordDto;
 import park_api.web.dto.UserResponseDto;
@@ -21,9 +72,41 @@ import park_api.web.exception.ErrorMessage;
 @Sql(scripts = "/sql/users/users-delete.sql", executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
 public class UserIT {
 
+    private static final Path OUTBOX_FILE = Path.of("target", "outbox", "user-events.ndjson");
+
     @Autowired
     WebTestClient testClient;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    UserAuditEventRepository auditEventRepository;
+
+    @Autowired
+    SqlStatisticsEndpoint sqlStatisticsEndpoint;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    UserShards userShards;
+
+    @Autowired
+    ReadYourWrites readYourWrites;
+
     @Test
     public void createUser_WithUsernameAndPasswordValid_ReturnUserCreatedWithStatus201() {
         UserResponseDto responseBody = testClient
@@ -192,4 +275,639 @@ public class UserIT {
         Assertions.assertThat(responseBody).isNotNull();
         Assertions.assertThat(responseBody.size()).isEqualTo(2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void getAll_WithLimit_ReturnFirstPageAndNextLinkWithStatus200() {
+        List<UserResponseDto> responseBody = testClient
+            .get()
+            .uri("/api/v1/users?limit=1")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().value(HttpHeaders.LINK, link -> Assertions.assertThat(link).contains("after=100"))
+            .expectBodyList(UserResponseDto.class).hasSize(1)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.get(0).getId()).isEqualTo(100);
+    }
+
+    @Test
+    public void getAll_WithCursorAfterLastPage_ReturnRemainingUsersWithoutNextLink() {
+        List<UserResponseDto> responseBody = testClient
+            .get()
+            .uri("/api/v1/users?after=100&limit=5")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().doesNotExist(HttpHeaders.LINK)
+            .expectBodyList(UserResponseDto.class).hasSize(1)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.get(0).getId()).isEqualTo(101);
+    }
+
+    @Test
+    public void streamAll_ReturnAllUsersWithStatus200() {
+        List<UserResponseDto> responseBody = testClient
+            .get()
+            .uri("/api/v1/users/stream")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(UserResponseDto.class).hasSize(2)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.get(1).getRole()).isEqualTo("CUSTOMER");
+    }
+
+    @Test
+    public void updatePassword_WithUserCached_EvictsCachedUser() {
+        testClient.get().uri("/api/v1/users/100").exchange().expectStatus().isOk();
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.USERS_CACHE).get(100L)).isNotNull();
+
+        testClient
+                .patch()
+                .uri("/api/v1/users/100")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("123456", "101010", "101010"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.USERS_CACHE).get(100L)).isNull();
+    }
+
+    @Test
+    public void createUser_WithUsernameCreatedBefore_ReturnErrorMessageWithStatus409() {
+        testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("repetido@gmail.com", "123456"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        ErrorMessage responseBody = testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("repetido@gmail.com", "123456"))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getMessage()).contains("repetido@gmail.com");
+    }
+
+    @Test
+    public void createAll_WithJsonArray_ReturnCreatedCountAndErrorsPerRowWithStatus200() {
+        UserBulkResponseDto responseBody = testClient
+                .post()
+                .uri("/api/v1/users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(
+                        new UserCreateDto("bob@email.com", "123456"),
+                        new UserCreateDto("bob", "123456"),
+                        new UserCreateDto("admin@email.com", "123456"),
+                        new UserCreateDto("alice@email.com", "123456"),
+                        new UserCreateDto("bob@email.com", "654321")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserBulkResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getReceived()).isEqualTo(5);
+        Assertions.assertThat(responseBody.getCreated()).isEqualTo(2);
+        Assertions.assertThat(responseBody.getErrors())
+                .extracting(UserBulkErrorDto::getRow)
+                .containsExactly(2, 3, 5);
+    }
+
+    @Test
+    public void createAll_WithNdjson_ReturnCreatedCountWithStatus200() {
+        UserBulkResponseDto responseBody = testClient
+                .post()
+                .uri("/api/v1/users/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("""
+                        {"username":"carol@email.com","password":"123456"}
+                        {"username":"dave@email.com","password":"123456"}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserBulkResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getCreated()).isEqualTo(2);
+        Assertions.assertThat(responseBody.getErrors()).isEmpty();
+
+        testClient
+                .get()
+                .uri("/api/v1/users")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserResponseDto.class).hasSize(4);
+    }
+
+    @Test
+    public void createAll_WithMalformedNdjsonLine_ReportsItAndCreatesTheFollowingRows() {
+        UserBulkResponseDto responseBody = testClient
+                .post()
+                .uri("/api/v1/users/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("""
+                        {"username":"erin@email.com","password":"123456"}
+                        {"username":"broken@email.com","password":
+                        {"username":"frank@email.com","password":"123456"}
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserBulkResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getReceived()).isEqualTo(3);
+        Assertions.assertThat(responseBody.getCreated()).isEqualTo(2);
+        Assertions.assertThat(responseBody.isTruncated()).isFalse();
+        Assertions.assertThat(responseBody.getErrors()).singleElement().satisfies(error -> {
+            Assertions.assertThat(error.getRow()).isEqualTo(2);
+            Assertions.assertThat(error.getMessage()).startsWith("JSON inválido");
+        });
+    }
+
+    @Test
+    public void createAll_WithMalformedJsonArray_ReportsTheRestAsNotProcessed() {
+        UserBulkResponseDto responseBody = testClient
+                .post()
+                .uri("/api/v1/users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        [{"username":"gina@email.com","password":"123456"},
+                         {"username":"broken@email.com","password":},
+                         {"username":"hank@email.com","password":"123456"}]
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserBulkResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getCreated()).isEqualTo(1);
+        Assertions.assertThat(responseBody.isTruncated()).isTrue();
+        Assertions.assertThat(responseBody.getErrors()).extracting(UserBulkErrorDto::getRow).containsExactly(2);
+    }
+
+    @Test
+    public void createUser_ThenUpdatePassword_StoresHashedPasswordAndVerifiesIt() {
+        UserResponseDto created = testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("hash@gmail.com", "123456"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserResponseDto.class)
+                .returnResult().getResponseBody();
+
+        String stored = jdbcTemplate.queryForObject(
+                "SELECT password FROM users WHERE id = ?", String.class, created.getId());
+        Assertions.assertThat(stored).startsWith("{bcrypt}").doesNotContain("123456");
+
+        testClient
+                .patch()
+                .uri("/api/v1/users/" + created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("123456", "101010", "101010"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        testClient
+                .patch()
+                .uri("/api/v1/users/" + created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("123456", "202020", "202020"))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void exportAll_ReturnAllUsersAsNdjsonWithStatus200() {
+        List<UserResponseDto> responseBody = testClient
+            .get()
+            .uri("/api/v1/users/export")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(UserResponseDto.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody).extracting(UserResponseDto::getId).containsExactly(100L, 101L);
+    }
+
+    @Test
+    public void getUser_WithMatchingIfNoneMatch_ReturnStatus304UntilPasswordChanges() {
+        String eTag = testClient
+                .get()
+                .uri("/api/v1/users/100")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectHeader().value(HttpHeaders.VARY, vary -> Assertions.assertThat(vary).containsIgnoringCase(HttpHeaders.ACCEPT))
+                .returnResult(UserResponseDto.class)
+                .getResponseHeaders().getETag();
+
+        testClient
+                .get()
+                .uri("/api/v1/users/100")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().value(HttpHeaders.VARY, vary -> Assertions.assertThat(vary).containsIgnoringCase(HttpHeaders.ACCEPT))
+                .expectBody().isEmpty();
+
+        testClient
+                .patch()
+                .uri("/api/v1/users/100")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("123456", "101010", "101010"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        testClient
+                .get()
+                .uri("/api/v1/users/100")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.LAST_MODIFIED)
+                .expectHeader().value(HttpHeaders.ETAG, newETag -> Assertions.assertThat(newETag).isNotEqualTo(eTag));
+    }
+
+    @Test
+    public void getAll_WithMatchingIfNoneMatch_ReturnStatus304() {
+        String eTag = testClient
+                .get()
+                .uri("/api/v1/users")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(UserResponseDto.class)
+                .getResponseHeaders().getETag();
+
+        testClient
+                .get()
+                .uri("/api/v1/users")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    public void getUser_WithIdInvalid_CountsErrorByHandlerBranch() {
+        double before = meterRegistry.counter("park.api.errors",
+                "exception", "EntityNotFoundException", "status", "404").count();
+
+        testClient.get().uri("/api/v1/users/1000").exchange().expectStatus().isNotFound();
+
+        Assertions.assertThat(meterRegistry.counter("park.api.errors",
+                "exception", "EntityNotFoundException", "status", "404").count()).isEqualTo(before + 1);
+    }
+
+    @Test
+    public void getUser_AsJsonAndCbor_TimesSerializationPerFormat() {
+        Timer json = meterRegistry.get("park.http.serialization").tag("format", "json").timer();
+        Timer cbor = meterRegistry.get("park.http.serialization").tag("format", "cbor").timer();
+        long jsonBefore = json.count();
+        long cborBefore = cbor.count();
+
+        testClient.get().uri("/api/v1/users/100").accept(MediaType.APPLICATION_JSON).exchange().expectStatus().isOk();
+        Assertions.assertThat(json.count()).isEqualTo(jsonBefore + 1);
+
+        testClient.get().uri("/api/v1/users/100").accept(MediaType.APPLICATION_CBOR).exchange().expectStatus().isOk();
+        Assertions.assertThat(cbor.count()).isEqualTo(cborBefore + 1);
+    }
+
+    @Test
+    public void createUser_ThenUpdatePassword_FillsAuditColumnsAndWritesAuditEvents() {
+        UserResponseDto created = testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("audit@gmail.com", "123456"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserResponseDto.class)
+                .returnResult().getResponseBody();
+
+        testClient
+                .patch()
+                .uri("/api/v1/users/" + created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("123456", "101010", "101010"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT created_at, created_by, modified_at, modified_by FROM users WHERE id = ?", created.getId());
+        Assertions.assertThat(row.get("created_at")).isNotNull();
+        Assertions.assertThat(row.get("created_by")).isEqualTo(JpaAuditingConfig.ANONYMOUS_AUDITOR);
+        Assertions.assertThat(row.get("modified_by")).isEqualTo(JpaAuditingConfig.ANONYMOUS_AUDITOR);
+        Assertions.assertThat((Timestamp) row.get("modified_at")).isAfter((Timestamp) row.get("created_at"));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                Assertions.assertThat(auditEventRepository.findByUserIdOrderByIdAsc(created.getId()))
+                        .extracting(UserAuditEvent::getType, UserAuditEvent::getActor)
+                        .containsExactly(
+                                Assertions.tuple(UserAuditEvent.Type.CREATED, JpaAuditingConfig.ANONYMOUS_AUDITOR),
+                                Assertions.tuple(UserAuditEvent.Type.PASSWORD_CHANGED, JpaAuditingConfig.ANONYMOUS_AUDITOR)));
+    }
+
+    @Test
+    public void auditSpillFile_IsStoredOnceTheWriterIsIdle() throws Exception {
+        Path spill = Path.of("target/audit/spill.ndjson");
+        Path pending = Files.createTempFile(Files.createDirectories(spill.getParent()), "spill", ".tmp");
+        Files.writeString(pending, """
+                {"userId":987654,"username":"spilled@email.com","type":"CREATED","actor":"system","occurredAt":"2026-01-02T03:04:05"}
+                {"userId":987654,"username":"spilled@email.com","type":"PASSWORD_CHANGED","actor":"system","occurredAt":"2026-01-02T03:05:00"}
+                """);
+        Files.move(pending, spill, StandardCopyOption.ATOMIC_MOVE);
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            Assertions.assertThat(auditEventRepository.findByUserIdOrderByIdAsc(987654L))
+                    .extracting(UserAuditEvent::getType)
+                    .containsExactly(UserAuditEvent.Type.CREATED, UserAuditEvent.Type.PASSWORD_CHANGED);
+            Assertions.assertThat(spill).doesNotExist();
+        });
+    }
+
+    @Test
+    public void getAll_RecordsNormalizedStatementStatistics() {
+        sqlStatisticsEndpoint.reset();
+
+        testClient.get().uri("/api/v1/users?after=0&limit=1").exchange().expectStatus().isOk();
+        testClient.get().uri("/api/v1/users?after=100&limit=1").exchange().expectStatus().isOk();
+
+        Assertions.assertThat(sqlStatisticsEndpoint.top("count", 10))
+                .filteredOn(summary -> summary.sql().contains("from users") && summary.sql().contains("where u1_0.id>?"))
+                .singleElement()
+                .satisfies(summary -> {
+                    Assertions.assertThat(summary.count()).isEqualTo(2);
+                    Assertions.assertThat(summary.maxMs()).isPositive();
+                    Assertions.assertThat(summary.totalMs()).isGreaterThanOrEqualTo(summary.maxMs());
+                });
+    }
+
+    @Test
+    public void getUserAndGetAll_SelectOnlyProjectedColumns() {
+        sqlStatisticsEndpoint.reset();
+
+        testClient.get().uri("/api/v1/users/101").exchange().expectStatus().isOk();
+        testClient.get().uri("/api/v1/users").exchange().expectStatus().isOk();
+
+        Assertions.assertThat(sqlStatisticsEndpoint.top("count", 10))
+                .extracting(summary -> summary.sql())
+                .filteredOn(sql -> sql.startsWith("select") && sql.contains("from users"))
+                .hasSize(2)
+                .noneMatch(sql -> sql.contains("password"));
+        Assertions.assertThat(cacheManager.getCache(CacheConfig.USERS_CACHE).get(101L).get())
+                .isInstanceOf(UserSummary.class);
+    }
+
+    @Test
+    public void updatePassword_WithConcurrentChanges_AppliesExactlyOneAndRejectsTheRest() throws Exception {
+        int clients = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            String newPassword = "10000" + i;
+            statuses.add(executor.submit(() -> {
+                start.await();
+                return testClient
+                        .patch()
+                        .uri("/api/v1/users/101")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new UserPasswordDto("123456", newPassword, newPassword))
+                        .exchange()
+                        .returnResult(Void.class)
+                        .getStatus().value();
+            }));
+        }
+        start.countDown();
+
+        List<Integer> results = new ArrayList<>();
+        for (Future<Integer> status : statuses) {
+            results.add(status.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        Assertions.assertThat(results).filteredOn(status -> status == 204).hasSize(1);
+        Assertions.assertThat(results).allMatch(status -> status == 204 || status == 409 || status == 400);
+        Assertions.assertThat(jdbcTemplate.queryForObject("SELECT version FROM users WHERE id = 101", Long.class))
+                .isEqualTo(1L);
+
+        String winner = "10000" + results.indexOf(204);
+        testClient
+                .patch()
+                .uri("/api/v1/users/101")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto(winner, "202020", "202020"))
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    public void search_WithPrefix_ReturnMatchingUsersInUsernameOrderWithStatus200() {
+        for (String username : List.of("clarice@email.com", "Clara@email.com", "claudio@email.com")) {
+            testClient
+                    .post()
+                    .uri("/api/v1/users")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new UserCreateDto(username, "123456"))
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+
+        List<UserResponseDto> responseBody = testClient
+                .get()
+                .uri("/api/v1/users/search?prefix=CLAR&limit=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).extracting(UserResponseDto::getUsername)
+                .containsExactly("Clara@email.com", "clarice@email.com");
+
+        testClient
+                .get()
+                .uri("/api/v1/users/search?prefix=cla&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserResponseDto.class).hasSize(1);
+    }
+
+    @Test
+    public void getAll_AcceptingCbor_ReturnUsersAsCborWithStatus200() throws Exception {
+        byte[] responseBody = testClient
+                .get()
+                .uri("/api/v1/users")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        List<UserResponseDto> users = new CBORMapper().readValue(responseBody, new TypeReference<List<UserResponseDto>>() { });
+        Assertions.assertThat(users).extracting(UserResponseDto::getUsername)
+                .containsExactly("admin@email.com", "cliente@email.com");
+        Assertions.assertThat(users).extracting(UserResponseDto::getRole).containsExactly("ADMIN", "CUSTOMER");
+    }
+
+    @Test
+    public void getAll_AcceptingGzip_CompressesLargeListsOnly() throws Exception {
+        List<UserCreateDto> users = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            users.add(new UserCreateDto("gzip" + i + "@email.com", "123456"));
+        }
+        testClient.mutate().responseTimeout(Duration.ofSeconds(30)).build()
+                .post().uri("/api/v1/users/bulk").contentType(MediaType.APPLICATION_JSON).bodyValue(users)
+                .exchange().expectStatus().isOk();
+
+        // WebTestClient negotiates gzip itself and hands back the decoded body, so use a plain client
+        HttpClient httpClient = HttpClient.newHttpClient();
+        HttpResponse<byte[]> list = httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/users"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip").build(), HttpResponse.BodyHandlers.ofByteArray());
+        Assertions.assertThat(list.statusCode()).isEqualTo(200);
+        Assertions.assertThat(list.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(list.body()))) {
+            Assertions.assertThat(new String(body.readAllBytes(), StandardCharsets.UTF_8)).contains("gzip39@email.com");
+        }
+
+        HttpResponse<byte[]> user = httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/users/100"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip").build(), HttpResponse.BodyHandlers.ofByteArray());
+        Assertions.assertThat(user.statusCode()).isEqualTo(200);
+        Assertions.assertThat(user.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+    }
+
+    @Test
+    public void getAllById_WithIds_ReturnUsersInRequestOrderAndCachesThem() {
+        Cache cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        cache.clear();
+
+        List<UserResponseDto> responseBody = testClient
+                .get()
+                .uri("/api/v1/users?ids=101,999,100,101")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(UserResponseDto.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).extracting(UserResponseDto::getId).containsExactly(101L, 100L);
+        Assertions.assertThat(cache.get(100L, UserSummary.class)).isNotNull();
+        Assertions.assertThat(cache.get(101L, UserSummary.class)).isNotNull();
+        Assertions.assertThat(cache.get(999L)).isNull();
+    }
+
+    @Test
+    public void getAllById_WithMoreIdsThanAllowed_ReturnErrorMessageWithStatus422() {
+        String ids = LongStream.rangeClosed(1, 1001).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        ErrorMessage responseBody = testClient
+                .get()
+                .uri("/api/v1/users?ids={ids}", ids)
+                .exchange()
+                .expectStatus().isEqualTo(422)
+                .expectBody(ErrorMessage.class)
+                .returnResult().getResponseBody();
+
+        Assertions.assertThat(responseBody).isNotNull();
+        Assertions.assertThat(responseBody.getStatus()).isEqualTo(422);
+    }
+
+    @Test
+    public void passwordHasher_HashAllWithMorePasswordsThanTheQueueHolds_WaitsForRoom() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(8), 1, 1, Duration.ofSeconds(5));
+        try {
+            List<String> hashes = hasher.hashAll(List.of("123456", "234567", "345678", "456789", "567890"));
+
+            Assertions.assertThat(hashes).hasSize(5);
+            Assertions.assertThat(hasher.matches("345678", hashes.get(2))).isTrue();
+        } finally {
+            hasher.destroy();
+        }
+    }
+
+    @Test
+    public void userSummaryLoader_WithIdsRequestedTogether_FetchesThemWithOneQuery() {
+        // A loader of its own, so other lookups and the shared meters cannot join or split the batch:
+        // the window never closes within the test, and the batch is fetched when its third id arrives.
+        MeterRegistry registry = new SimpleMeterRegistry();
+        UserSummaryLoader loader = new UserSummaryLoader(userRepository, userShards, readYourWrites, registry,
+                Duration.ofMinutes(1), 3, 1, Duration.ofSeconds(5));
+        try {
+            Map<Long, UserSummary> users = loader.loadAll(List.of(101L, 999L, 100L, 101L));
+
+            Assertions.assertThat(users.keySet()).containsExactly(101L, 100L);
+            DistributionSummary batches = registry.get("park.users.loader.batch.size").summary();
+            Assertions.assertThat(batches.count()).isEqualTo(1);
+            Assertions.assertThat(batches.totalAmount()).isEqualTo(3);
+        } finally {
+            loader.destroy();
+        }
+    }
+
+    @Test
+    public void createAndUpdatePassword_PublishChangesThroughOutboxInOrder() throws Exception {
+        Files.deleteIfExists(OUTBOX_FILE);
+        UserResponseDto created = testClient
+                .post()
+                .uri("/api/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserCreateDto("outbox@email.com", "123456"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(UserResponseDto.class)
+                .returnResult().getResponseBody();
+        testClient
+                .patch()
+                .uri("/api/v1/users/" + created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserPasswordDto("123456", "654321", "654321"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        List<JsonNode> published = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (published.size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            published.clear();
+            if (Files.exists(OUTBOX_FILE)) {
+                for (String line : Files.readAllLines(OUTBOX_FILE)) {
+                    JsonNode message = objectMapper.readTree(line);
+                    if (message.get("userId").asLong() == created.getId()) {
+                        published.add(message);
+                    }
+                }
+            }
+        }
+
+        Assertions.assertThat(published).extracting(message -> message.get("type").asText())
+                .containsExactly("CREATED", "PASSWORD_CHANGED");
+        Assertions.assertThat(published).extracting(message -> message.get("userVersion").asLong())
+                .containsExactly(0L, 1L);
+        Assertions.assertThat(published.get(0).get("payload").get("username").asText()).isEqualTo("outbox@email.com");
+        Assertions.assertThat(published.get(0).get("payload").get("role").asText()).isEqualTo("CUSTOMER");
+        Assertions.assertThat(published.get(1).get("payload").has("password")).isFalse();
+        Assertions.assertThat(jdbcTemplate.queryForObject("select count(*) from user_outbox where user_id = ?",
+                Long.class, created.getId())).isZero();
+        Assertions.assertThat(meterRegistry.get("park.outbox.lag").timer().count()).isGreaterThanOrEqualTo(2);
+    }
+}
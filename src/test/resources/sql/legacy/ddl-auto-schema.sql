@@ -0,0 +1,18 @@
+-- The schema ddl-auto=update created before Flyway, with users already registered.
+create table users (
+    id bigint generated by default as identity,
+    created_at timestamp(6),
+    created_by varchar(255),
+    modified_at timestamp(6),
+    modified_by varchar(255),
+    password varchar(200) not null,
+    role enum ('ROLE_ADMIN','ROLE_CUSTOMER') not null,
+    username varchar(100) not null,
+    primary key (id)
+);
+
+alter table if exists users add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+insert into users (username, password, role) values ('legacy1@email.com', '123456', 'ROLE_ADMIN');
+insert into users (username, password, role) values ('legacy2@email.com', '123456', 'ROLE_CUSTOMER');
+insert into users (username, password, role) values ('legacy3@email.com', '123456', 'ROLE_CUSTOMER');
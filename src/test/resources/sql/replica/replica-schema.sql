@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS USERS (
+    id BIGINT PRIMARY KEY,
+    username VARCHAR(100) NOT NULL UNIQUE,
+    password VARCHAR(200) NOT NULL,
+    role VARCHAR(25) NOT NULL,
+    created_at TIMESTAMP(6),
+    modified_at TIMESTAMP(6),
+    created_by VARCHAR(255),
+    modified_by VARCHAR(255),
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+MERGE INTO USERS (id, username, password, role) KEY (id) VALUES (900, 'replica@email.com', '123456', 'ROLE_CUSTOMER');